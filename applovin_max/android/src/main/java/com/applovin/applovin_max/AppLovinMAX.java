@@ -1,7 +1,9 @@
 package com.applovin.applovin_max;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.graphics.Color;
@@ -9,16 +11,13 @@ import android.graphics.Point;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.util.Log;
-import android.view.Gravity;
 import android.view.View;
-import android.view.ViewGroup;
-import android.view.ViewParent;
-import android.widget.LinearLayout;
-import android.widget.RelativeLayout;
+import android.widget.FrameLayout;
 
 import com.applovin.mediation.MaxAd;
 import com.applovin.mediation.MaxAdFormat;
 import com.applovin.mediation.MaxAdListener;
+import com.applovin.mediation.MaxAdRevenueListener;
 import com.applovin.mediation.MaxAdViewAdListener;
 import com.applovin.mediation.MaxError;
 import com.applovin.mediation.MaxReward;
@@ -34,13 +33,25 @@ import com.applovin.sdk.AppLovinSdkSettings;
 import com.applovin.sdk.AppLovinSdkUtils;
 import com.applovin.sdk.AppLovinUserService;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
@@ -50,73 +61,257 @@ import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
 
 public class AppLovinMAX
-        implements FlutterPlugin, MethodCallHandler, ActivityAware, MaxAdListener, MaxAdViewAdListener, MaxRewardedAdListener
+        implements FlutterPlugin, ActivityAware, ComponentCallbacks2, MaxAdListener, MaxRewardedAdListener, MaxAdRevenueListener
 {
     private static final String SDK_TAG = "AppLovinSdk";
     private static final String TAG     = "AppLovinMAX";
 
+    // Methods that do not need the SDK and run right away, even before it is initialized
+    private static final Set<String> PRE_INITIALIZATION_METHODS = new HashSet<>( Arrays.asList(
+            "initialize", "isInitialized", "getInitializationTimings", "getPreInitializationQueueStats", "isTablet", "getConsentDialogState",
+            "setHasUserConsent", "hasUserConsent", "setIsAgeRestrictedUser", "isAgeRestrictedUser", "setDoNotSell", "isDoNotSell",
+            "setEventCoalescingEnabled", "setBinaryAdEventsEnabled", "setLoadRetryPolicy", "getLoadRetryStats", "setAdViewPoolLimits",
+            "getAdViewPoolStats", "setAdViewVisibilityThreshold", "getAdViewRefreshStats", "getAdPoolStats", "getMetrics", "setTracingEnabled", "getTrace", "dumpTrace",
+            "setRevenueJournalEnabled", "readRevenueJournal", "acknowledgeRevenueJournal", "setMaxPrewarmedAdUnits", "getAdUnitUsage",
+            "setEventSubscriptions", "getEventSubscriptionStats", "setMemoryTrimPolicy", "getMemoryTrimStats",
+            "setAdStateUpdatesEnabled", "getAdStates" ) );
+
+    // Queued methods that configure the SDK settings, which must be applied before the SDK is initialized
+    private static final Set<String> SDK_SETTINGS_METHODS = new HashSet<>( Arrays.asList(
+            "setUserId", "setMuted", "setVerboseLogging", "setCreativeDebuggerEnabled", "setTestDeviceAdvertisingIds" ) );
+
+    // Queued setters for which only the latest call per ad unit id (and extra parameter key) needs to run
+    private static final Set<String> COLLAPSIBLE_METHODS = new HashSet<>( Arrays.asList(
+            "setUserId", "setMuted", "setVerboseLogging", "setCreativeDebuggerEnabled", "setTestDeviceAdvertisingIds", "setBannerBackgroundColor",
+            "setBannerPlacement", "updateBannerPosition", "setBannerExtraParameter", "setMRecPlacement", "updateMRecPosition", "setInterstitialExtraParameter",
+            "setInterstitialPoolDepth", "setRewardedAdExtraParameter", "setRewardedAdPoolDepth" ) );
+
+    private static final int PRE_INITIALIZATION_QUEUE_CAPACITY = 128;
+
+    // Process-wide, shared by the plugin instances of all engines
     public static AppLovinMAX instance;
 
-    private MethodChannel         sharedChannel;
-    private Context               applicationContext;
-    private ActivityPluginBinding lastActivityPluginBinding;
+    private final Context applicationContext;
+
+    // The plugin that instances created by the deprecated plugin constructor forward to, null for the process-wide instance
+    @Nullable
+    private final AppLovinMAXPlugin delegatePlugin;
+
+    // Plugin instances of the attached engines, the one whose activity attached last is at the end
+    private final List<AppLovinMAXPlugin> engines = new ArrayList<>( 1 );
+
+    // The engine whose method call is being handled
+    @Nullable
+    private AppLovinMAXPlugin callingEngine;
+
+    // Reused for every binary ad event, since the codec encodes synchronously
+    private final AppLovinMAXAdEventCodec.Event pendingAdEvent = new AppLovinMAXAdEventCodec.Event();
+
+    // Ad events not sent to an engine because it has no listener for them, by event tag
+    private final int[] suppressedAdEventCounts = new int[AppLovinMAXAdEventCodec.EVENT_NAMES.length];
 
     // Parent Fields
     private AppLovinSdk              sdk;
-    private boolean                  isPluginInitialized;
-    private boolean                  isSdkInitialized;
+    // Also read by the background channel
+    private volatile boolean         isPluginInitialized;
+    private volatile boolean         isSdkInitialized;
     private AppLovinSdkConfiguration sdkConfiguration;
 
-    // Store these values if pub attempts to set it before initializing
-    private String       userIdToSet;
-    private List<String> testDeviceAdvertisingIdsToSet;
-    private Boolean      verboseLoggingToSet;
-    private Boolean      creativeDebuggerEnabledToSet;
+    // Results of initialize() calls from every engine, replied to once the SDK is initialized
+    private final List<Result> pendingInitializationResults = new ArrayList<>( 1 );
+
+    private long                      initializationStartNanos;
+    private final Map<String, Object> initializationTimings = new HashMap<>( 6 );
+
+    // Ad units used in the last session, read during initialization
+    @Nullable
+    private AppLovinMAXAdUnitUsageStore adUnitUsageStore;
+    private int                         maxPrewarmedAdUnits;
+
+    // Calls pub makes before the SDK is initialized, run once it is
+    private final AppLovinMAXCommandQueue preInitializationQueue = new AppLovinMAXCommandQueue( PRE_INITIALIZATION_QUEUE_CAPACITY, COLLAPSIBLE_METHODS );
+
+    // Ad unit id or ad view instance handle -> the interstitial, rewarded ad, pool or banner/MREC ad view and everything else tracked for it
+    private final Map<String, AppLovinMAXAdState> adStates = new HashMap<>( 4 );
+    // Numbers the handles of additional ad view instances
+    private int                                   adViewInstanceCount;
+    // Orders the ad state changes pushed to Dart, so that Dart can drop changes older than its snapshot
+    private long                                  adStateSequence;
+
+    // Idle ad resources are released once the system asks to trim memory at or above this level
+    private int     minMemoryTrimLevel = TRIM_MEMORY_BACKGROUND;
+    // Whether hidden programmatic banners and MRECs are destroyed as well, which pub must create again
+    private boolean isReleasingHiddenAdViews;
+
+    // What was released under memory pressure or when the last activity detached
+    private int memoryTrimCount;
+    private int lastMemoryTrimLevel;
+    private int releasedFullscreenAdCount;
+    private int releasedAdViewCount;
+    private int releasedPooledAdViewCount;
+
+    // Retries failed loads natively, if enabled by pub
+    private final AppLovinMAXRetryScheduler retryScheduler = new AppLovinMAXRetryScheduler();
+
+    // Load latencies per ad unit id and ad format
+    private final AppLovinMAXLoadMetrics loadMetrics = new AppLovinMAXLoadMetrics();
+
+    // Hosts the banners and MRECs, one container per Activity
+    private final AppLovinMAXAdViewOverlay adViewOverlay = new AppLovinMAXAdViewOverlay();
+
+    // Ad format -> size in pixels, cleared when the configuration (e.g. density) changes
+    private final Map<MaxAdFormat, Point> adViewPixelSizes = new HashMap<>( 3 );
+
+    // Ad views released by disposed MaxAdView widgets, for reuse by the next widget with the same ad unit id, format and placement
+    private final AppLovinMAXAdViewPool adViewPool = new AppLovinMAXAdViewPool();
 
-    // Fullscreen Ad Fields
-    private final Map<String, MaxInterstitialAd> mInterstitials = new HashMap<>( 2 );
-    private final Map<String, MaxRewardedAd>     mRewardedAds   = new HashMap<>( 2 );
+    // Widget ad views pause auto-refresh while less than this fraction of them is visible
+    private float adViewVisibilityThreshold = Float.MIN_VALUE;
+    private long  adViewRefreshPausedMillis;
+    private int   adViewRefreshPauseCount;
 
-    // Banner Fields
-    private final Map<String, MaxAdView>   mAdViews                    = new HashMap<>( 2 );
-    private final Map<String, MaxAdFormat> mAdViewAdFormats            = new HashMap<>( 2 );
-    private final Map<String, String>      mAdViewPositions            = new HashMap<>( 2 );
-    private final List<String>             mAdUnitIdsToShowAfterCreate = new ArrayList<>( 2 );
+    // Journals the revenue of every impression on disk, if enabled by pub
+    @Nullable
+    private AppLovinMAXRevenueJournal revenueJournal;
+
+    // Records method calls and callbacks, if enabled by pub
+    @Nullable
+    private AppLovinMAXTracer tracer;
+
+    // Runs the plugin's own disk I/O off the main thread, created on first use
+    @Nullable
+    private ExecutorService backgroundExecutor;
+
+    // Method name -> handler, resolved with a single lookup in onMethodCall()
+    private final Map<String, MethodCallHandler> methodHandlers = new HashMap<>( 64 );
+    // Method name -> handler of the calls on the background channel, which only read state that is safe to read off the main thread
+    private final Map<String, MethodCallHandler> backgroundMethodHandlers = new HashMap<>( 8 );
+
+    @VisibleForTesting
+    AppLovinMAX(final Context applicationContext)
+    {
+        this.applicationContext = applicationContext;
+        this.delegatePlugin = null;
+
+        registerMethodHandlers();
+        registerBackgroundMethodHandlers();
+    }
+
+    /**
+     * Creates a plugin that forwards to a new {@link AppLovinMAXPlugin}, for apps whose plugin registrant still adds {@code new AppLovinMAX()}.
+     *
+     * @deprecated The plugin class is {@link AppLovinMAXPlugin}. Regenerate the plugin registrant, or add {@code new AppLovinMAXPlugin()} instead.
+     */
+    @Deprecated
+    public AppLovinMAX()
+    {
+        this.applicationContext = null;
+        this.delegatePlugin = new AppLovinMAXPlugin();
+    }
 
     public static AppLovinMAX getInstance()
     {
         return instance;
     }
 
+    static AppLovinMAX getInstance(final Context applicationContext)
+    {
+        if ( instance == null )
+        {
+            instance = new AppLovinMAX( applicationContext );
+        }
+
+        return instance;
+    }
+
     public AppLovinSdk getSdk()
     {
         return sdk;
     }
 
-    @Override
-    public void onAttachedToEngine(@NonNull FlutterPluginBinding binding)
+    AppLovinMAXAdViewPool getAdViewPool()
+    {
+        return adViewPool;
+    }
+
+    AppLovinMAXLoadMetrics getLoadMetrics()
+    {
+        return loadMetrics;
+    }
+
+    float getAdViewVisibilityThreshold()
     {
-        // KNOWN ISSUE: onAttachedToEngine will be call twice, which may be caused by using
-        // firebase_messaging plugin. See https://github.com/flutter/flutter/issues/97840
-        //
-        // Workaround is move the code to onAttachedToActivity
-        // and onReattachedToActivityForConfigChanges, which will be only called once.
-        //
-        // instance = this;
+        return adViewVisibilityThreshold;
+    }
+
+    void onAdViewRefreshResumed(final long pausedMillis)
+    {
+        adViewRefreshPausedMillis += pausedMillis;
+        adViewRefreshPauseCount++;
+    }
 
-        applicationContext = binding.getApplicationContext();
+    void attachEngine(final AppLovinMAXPlugin engine)
+    {
+        // Some embeddings attach the same plugin instance more than once
+        if ( engines.contains( engine ) ) return;
 
-        sharedChannel = new MethodChannel( binding.getBinaryMessenger(), "applovin_max" );
-        sharedChannel.setMethodCallHandler( this );
+        if ( engines.isEmpty() )
+        {
+            applicationContext.registerComponentCallbacks( this );
+        }
 
-        AppLovinMAXAdViewFactory adViewFactory = new AppLovinMAXAdViewFactory( binding.getBinaryMessenger() );
-        binding.getPlatformViewRegistry().registerViewFactory( "applovin_max/adview", adViewFactory );
+        engines.add( engine );
     }
 
-    @Override
-    public void onDetachedFromEngine(@NonNull FlutterPluginBinding binding)
+    void detachEngine(final AppLovinMAXPlugin engine)
+    {
+        engines.remove( engine );
+
+        // Events of the engine's ads go to all remaining engines until another one takes them over
+        for ( AppLovinMAXAdState state : adStates.values() )
+        {
+            if ( state.ownerEngine == engine ) state.ownerEngine = null;
+        }
+
+        if ( !engines.isEmpty() ) return;
+
+        // The SDK, its ads and the revenue journal stay with the process for the next engine to attach, so that revenue paid for in between is kept
+        adViewPool.clear();
+        applicationContext.unregisterComponentCallbacks( this );
+    }
+
+    void onEngineActivityAttached(final AppLovinMAXPlugin engine)
+    {
+        engines.remove( engine );
+        engines.add( engine );
+    }
+
+    /**
+     * Called when an engine's activity is finished for good, not when it is recreated for a configuration change.
+     * <p>
+     * Interstitials and rewarded ads that are loaded or loading, and programmatic banners and MRECs, keep the activity they were created with until they
+     * are destroyed, since creating them again would drop their ads. Only the idle fullscreen ads are released here.
+     */
+    void onEngineActivityDetached()
+    {
+        if ( getCurrentActivity() != null ) return;
+
+        // Idle interstitials and rewarded ads hold the activity they were created with, they are created again with the next activity when loaded
+        final int releasedFullscreenAds = releaseIdleFullscreenAds();
+        if ( releasedFullscreenAds > 0 )
+        {
+            d( "Released " + releasedFullscreenAds + " idle fullscreen ads after the last activity detached" );
+        }
+    }
+
+    private ExecutorService getBackgroundExecutor()
     {
-        sharedChannel.setMethodCallHandler( null );
+        if ( backgroundExecutor == null )
+        {
+            backgroundExecutor = Executors.newSingleThreadExecutor();
+        }
+
+        return backgroundExecutor;
     }
 
     private boolean isInitialized()
@@ -138,86 +333,280 @@ public class AppLovinMAX
 
     private void initialize(final String pluginVersion, final String sdkKey, final Result result)
     {
-        // Guard against running init logic multiple times
+        // Engines attaching after the SDK is initialized share it
+        if ( isSdkInitialized )
+        {
+            result.success( getSdkConfigurationInfo() );
+            return;
+        }
+
+        pendingInitializationResults.add( result );
+
+        // Guard against running init logic multiple times, e.g. for several engines
         if ( isPluginInitialized )
         {
             return;
         }
 
         isPluginInitialized = true;
+        initializationStartNanos = System.nanoTime();
 
         d( "Initializing AppLovin MAX Flutter v" + pluginVersion + "..." );
 
-        // If SDK key passed in is empty, check Android Manifest
-        String sdkKeyToUse = sdkKey;
-        if ( TextUtils.isEmpty( sdkKey ) )
-        {
-            try
-            {
-                PackageManager packageManager = applicationContext.getPackageManager();
-                String packageName = applicationContext.getPackageName();
-                ApplicationInfo applicationInfo = packageManager.getApplicationInfo( packageName, PackageManager.GET_META_DATA );
-                Bundle metaData = applicationInfo.metaData;
+        // Reading the manifest and constructing the SDK settings hit the disk, so keep them off the platform thread
+        getBackgroundExecutor().execute( () -> {
 
-                sdkKeyToUse = metaData.getString( "applovin.sdk.key", "" );
-            }
-            catch ( Throwable th )
-            {
-                e( "Unable to retrieve SDK key from Android Manifest: " + th );
-            }
+            long phaseStartNanos = System.nanoTime();
 
-            if ( TextUtils.isEmpty( sdkKeyToUse ) )
+            // If SDK key passed in is empty, check Android Manifest
+            String sdkKeyToUse = sdkKey;
+            if ( TextUtils.isEmpty( sdkKey ) )
             {
-                throw new IllegalStateException( "Unable to initialize AppLovin SDK - no SDK key provided and not found in Android Manifest!" );
+                try
+                {
+                    PackageManager packageManager = applicationContext.getPackageManager();
+                    String packageName = applicationContext.getPackageName();
+                    ApplicationInfo applicationInfo = packageManager.getApplicationInfo( packageName, PackageManager.GET_META_DATA );
+                    Bundle metaData = applicationInfo.metaData;
+
+                    sdkKeyToUse = metaData.getString( "applovin.sdk.key", "" );
+                }
+                catch ( Throwable th )
+                {
+                    e( "Unable to retrieve SDK key from Android Manifest: " + th );
+                }
+
+                if ( TextUtils.isEmpty( sdkKeyToUse ) )
+                {
+                    AppLovinSdkUtils.runOnUiThread( () -> onInitializationFailed( "Unable to initialize AppLovin SDK - no SDK key provided and not found in Android Manifest!" ) );
+                    return;
+                }
             }
-        }
 
+            final long manifestReadNanos = System.nanoTime() - phaseStartNanos;
+            phaseStartNanos = System.nanoTime();
+
+            AppLovinSdkSettings settings = new AppLovinSdkSettings( applicationContext );
+
+            final long settingsNanos = System.nanoTime() - phaseStartNanos;
+            phaseStartNanos = System.nanoTime();
+
+            final AppLovinSdk sdkInstance = AppLovinSdk.getInstance( sdkKeyToUse, settings, applicationContext );
+
+            final long sdkInstanceNanos = System.nanoTime() - phaseStartNanos;
+
+            final AppLovinMAXAdUnitUsageStore usageStore = new AppLovinMAXAdUnitUsageStore( applicationContext );
+
+            final long postedAtNanos = System.nanoTime();
+
+            AppLovinSdkUtils.runOnUiThread( () -> {
+
+                adUnitUsageStore = usageStore;
+
+                initializationTimings.put( "manifestReadMillis", toMillis( manifestReadNanos ) );
+                initializationTimings.put( "settingsMillis", toMillis( settingsNanos ) );
+                initializationTimings.put( "sdkInstanceMillis", toMillis( sdkInstanceNanos ) );
+                initializationTimings.put( "mainThreadHopMillis", toMillis( System.nanoTime() - postedAtNanos ) );
+
+                onSdkInstanceCreated( sdkInstance, pluginVersion );
+            } );
+        } );
+    }
+
+    private void onSdkInstanceCreated(final AppLovinSdk sdkInstance, final String pluginVersion)
+    {
         // Initialize SDK
-        sdk = AppLovinSdk.getInstance( sdkKeyToUse, new AppLovinSdkSettings( applicationContext ), applicationContext );
+        sdk = sdkInstance;
         sdk.setPluginVersion( "Flutter-" + pluginVersion );
         sdk.setMediationProvider( AppLovinMediationProvider.MAX );
 
-        // Set user id if needed
-        if ( !TextUtils.isEmpty( userIdToSet ) )
+        // Apply settings pub set before initializing, everything else waits for the SDK to be initialized
+        preInitializationQueue.drain( SDK_SETTINGS_METHODS, this::runQueuedCall );
+
+        final long initializeSdkStartNanos = System.nanoTime();
+
+        sdk.initializeSdk( configuration -> {
+
+            d( "SDK initialized" );
+
+            initializationTimings.put( "sdkInitializationMillis", toMillis( System.nanoTime() - initializeSdkStartNanos ) );
+            initializationTimings.put( "totalMillis", toMillis( System.nanoTime() - initializationStartNanos ) );
+
+            sdkConfiguration = configuration;
+            isSdkInitialized = true;
+
+            final Map<String, Object> sdkConfigurationInfo = getSdkConfigurationInfo();
+            for ( Result result : pendingInitializationResults )
+            {
+                result.success( sdkConfigurationInfo );
+            }
+            pendingInitializationResults.clear();
+
+            // Prewarm before running queued calls, so that queued loads of the same ad units reuse the prewarmed ads
+            prewarmAdUnits();
+
+            preInitializationQueue.drain( this::runQueuedCall );
+        } );
+    }
+
+    /**
+     * Loads the ad units pub used most in the last session, up to {@link #maxPrewarmedAdUnits}. The first load or creation of a prewarmed ad unit
+     * by pub does not load it again, but reports its loaded ad if it has loaded already.
+     */
+    private void prewarmAdUnits()
+    {
+        if ( maxPrewarmedAdUnits <= 0 || adUnitUsageStore == null ) return;
+
+        if ( getCurrentActivity() == null )
         {
-            sdk.setUserIdentifier( userIdToSet );
-            userIdToSet = null;
+            d( "Skipping prewarming ad units - no activity" );
+            return;
         }
 
-        // Set test device ids if needed
-        if ( testDeviceAdvertisingIdsToSet != null )
+        final List<AppLovinMAXAdUnitUsageStore.AdUnitUsage> usages = adUnitUsageStore.getLastSessionUsages();
+        for ( int i = 0; i < Math.min( maxPrewarmedAdUnits, usages.size() ); i++ )
         {
-            sdk.getSettings().setTestDeviceAdvertisingIds( testDeviceAdvertisingIdsToSet );
-            testDeviceAdvertisingIdsToSet = null;
+            final AppLovinMAXAdUnitUsageStore.AdUnitUsage usage = usages.get( i );
+            final String adUnitId = usage.adUnitId;
+            final MaxAdFormat adFormat = usage.adFormat;
+
+            final AppLovinMAXAdState state = getAdState( adUnitId, adFormat );
+
+            if ( MaxAdFormat.INTERSTITIAL == adFormat )
+            {
+                d( "Prewarming interstitial with ad unit id \"" + adUnitId + "\"" );
+
+                MaxInterstitialAd interstitial = retrieveInterstitial( state );
+                state.isPrewarmed = true;
+                setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+                loadMetrics.onLoadStarted( adUnitId, adFormat );
+                interstitial.loadAd();
+            }
+            else if ( MaxAdFormat.REWARDED == adFormat )
+            {
+                d( "Prewarming rewarded ad with ad unit id \"" + adUnitId + "\"" );
+
+                MaxRewardedAd rewardedAd = retrieveRewardedAd( state );
+                state.isPrewarmed = true;
+                setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+                loadMetrics.onLoadStarted( adUnitId, adFormat );
+                rewardedAd.loadAd();
+            }
+            else if ( usage.adViewPosition != null )
+            {
+                d( "Prewarming " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\"" );
+
+                // Loaded hidden and detached, it is added to the screen once pub creates it
+                MaxAdView adView = retrieveAdView( state, usage.adViewPosition );
+                if ( adView == null ) continue;
+
+                adView.setVisibility( View.GONE );
+                state.isPrewarmed = true;
+                setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+                loadMetrics.onLoadStarted( adUnitId, adFormat );
+                adView.loadAd();
+            }
         }
+    }
+
+    /**
+     * @return Whether the ad unit was prewarmed and must not be loaded again. If its ad has loaded already, the loaded event is fired again since pub
+     * may not have been listening when it loaded.
+     */
+    private boolean consumePrewarmedAd(final AppLovinMAXAdState state)
+    {
+        if ( !state.isPrewarmed ) return false;
 
-        // Set verbose logging state if needed
-        if ( verboseLoggingToSet != null )
+        final MaxAd ad = state.prewarmedAd;
+        state.isPrewarmed = false;
+        state.prewarmedAd = null;
+
+        // An ad still loading stays LOADING until its load completes
+        if ( ad != null )
         {
-            sdk.getSettings().setVerboseLogging( verboseLoggingToSet );
-            verboseLoggingToSet = null;
+            setLoadState( state, AppLovinMAXAdState.LoadState.LOADED );
+            fireAdEvent( state, state.loadedEventName, ad );
         }
 
-        // Set creative debugger enabled if needed.
-        if ( creativeDebuggerEnabledToSet != null )
+        return true;
+    }
+
+    @VisibleForTesting
+    AppLovinMAXAdState getAdState(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        return getAdState( adUnitId, adUnitId, adFormat );
+    }
+
+    private AppLovinMAXAdState getAdState(final String id, final String adUnitId, final MaxAdFormat adFormat)
+    {
+        AppLovinMAXAdState state = adStates.get( id );
+        if ( state == null )
         {
-            sdk.getSettings().setCreativeDebuggerEnabled( creativeDebuggerEnabledToSet );
-            creativeDebuggerEnabledToSet = null;
+            state = new AppLovinMAXAdState( id, adUnitId, adFormat );
+            adStates.put( id, state );
         }
 
-        sdk.initializeSdk( configuration -> {
+        return state;
+    }
 
-            d( "SDK initialized" );
+    private void recordAdUnitUsage(final String adUnitId, final MaxAdFormat adFormat, @Nullable final String adViewPosition)
+    {
+        if ( adUnitUsageStore == null ) return;
 
-            sdkConfiguration = configuration;
-            isSdkInitialized = true;
+        adUnitUsageStore.record( adUnitId, adFormat, adViewPosition );
+    }
+
+    /**
+     * Sets how many of the ad units used most in the last session are loaded as soon as the SDK is initialized. Must be called before initializing.
+     * Defaults to 0, which disables prewarming.
+     */
+    public void setMaxPrewarmedAdUnits(final int maxAdUnits)
+    {
+        maxPrewarmedAdUnits = maxAdUnits;
+    }
 
-            Map<String, Object> sdkConfiguration = new HashMap<>( 2 );
-            sdkConfiguration.put( "consentDialogState", configuration.getConsentDialogState().ordinal() );
-            sdkConfiguration.put( "countryCode", configuration.getCountryCode() );
+    public void getAdUnitUsage(final Result result)
+    {
+        result.success( adUnitUsageStore != null ? adUnitUsageStore.getStats() : null );
+    }
 
-            result.success( sdkConfiguration );
-        } );
+    private Map<String, Object> getSdkConfigurationInfo()
+    {
+        Map<String, Object> sdkConfigurationInfo = new HashMap<>( 2 );
+        sdkConfigurationInfo.put( "consentDialogState", sdkConfiguration.getConsentDialogState().ordinal() );
+        sdkConfigurationInfo.put( "countryCode", sdkConfiguration.getCountryCode() );
+
+        return sdkConfigurationInfo;
+    }
+
+    private void onInitializationFailed(final String message)
+    {
+        e( message );
+
+        // Allow pub to retry, e.g. with an explicit SDK key
+        isPluginInitialized = false;
+
+        preInitializationQueue.fail( "INITIALIZATION_FAILED", message );
+        for ( Result result : pendingInitializationResults )
+        {
+            result.error( "INITIALIZATION_FAILED", message, null );
+        }
+        pendingInitializationResults.clear();
+    }
+
+    public void getInitializationTimings(final Result result)
+    {
+        result.success( new HashMap<>( initializationTimings ) );
+    }
+
+    public void getPreInitializationQueueStats(final Result result)
+    {
+        result.success( preInitializationQueue.getStats() );
+    }
+
+    private static double toMillis(final long nanos)
+    {
+        return nanos / 1000000.0;
     }
 
     // General Public API
@@ -251,7 +640,11 @@ public class AppLovinMAX
 
     public void getConsentDialogState(final Result result)
     {
-        if ( !isInitialized() ) result.success( AppLovinSdkConfiguration.ConsentDialogState.UNKNOWN.ordinal() );
+        if ( !isInitialized() )
+        {
+            result.success( AppLovinSdkConfiguration.ConsentDialogState.UNKNOWN.ordinal() );
+            return;
+        }
 
         result.success( sdkConfiguration.getConsentDialogState().ordinal() );
     }
@@ -286,121 +679,537 @@ public class AppLovinMAX
         result.success( AppLovinPrivacySettings.isDoNotSell( applicationContext ) );
     }
 
+    // NOTE: Calls made over the channel before initializing are queued, see onMethodCall()
+
     public void setUserId(String userId)
     {
-        if ( isPluginInitialized )
-        {
-            sdk.setUserIdentifier( userId );
-            userIdToSet = null;
-        }
-        else
+        if ( sdk == null )
         {
-            userIdToSet = userId;
+            logUninitializedAccessError( "setUserId" );
+            return;
         }
+
+        sdk.setUserIdentifier( userId );
     }
 
     public void setMuted(final boolean muted)
     {
-        if ( !isPluginInitialized ) return;
+        if ( sdk == null ) return;
 
         sdk.getSettings().setMuted( muted );
     }
 
     public boolean isMuted()
     {
-        if ( !isPluginInitialized ) return false;
+        if ( sdk == null ) return false;
 
         return sdk.getSettings().isMuted();
     }
 
     public void setVerboseLogging(final boolean verboseLoggingEnabled)
     {
-        if ( isPluginInitialized )
-        {
-            sdk.getSettings().setVerboseLogging( verboseLoggingEnabled );
-            verboseLoggingToSet = null;
-        }
-        else
+        if ( sdk == null )
         {
-            verboseLoggingToSet = verboseLoggingEnabled;
+            logUninitializedAccessError( "setVerboseLogging" );
+            return;
         }
+
+        sdk.getSettings().setVerboseLogging( verboseLoggingEnabled );
     }
 
     public void setCreativeDebuggerEnabled(final boolean enabled)
     {
-        if ( isPluginInitialized )
-        {
-            sdk.getSettings().setCreativeDebuggerEnabled( enabled );
-            creativeDebuggerEnabledToSet = null;
-        }
-        else
+        if ( sdk == null )
         {
-            creativeDebuggerEnabledToSet = enabled;
+            logUninitializedAccessError( "setCreativeDebuggerEnabled" );
+            return;
         }
+
+        sdk.getSettings().setCreativeDebuggerEnabled( enabled );
     }
 
     public void setTestDeviceAdvertisingIds(final List<String> rawAdvertisingIds)
     {
+        if ( sdk == null )
+        {
+            logUninitializedAccessError( "setTestDeviceAdvertisingIds" );
+            return;
+        }
+
         List<String> advertisingIds = new ArrayList<>( rawAdvertisingIds.size() );
+        sdk.getSettings().setTestDeviceAdvertisingIds( advertisingIds );
+    }
 
-        if ( isPluginInitialized )
+    /**
+     * Runs an ordered list of method calls in a single pass, so that e.g. creating, configuring and showing a banner costs one channel round trip.
+     * Each command is a map with a "method" name and an optional "args" map using the same keys as the individual method call.
+     * The result is a list with one entry per command containing either its "result" or its "errorCode" and "errorMessage". It is reported once every
+     * command has replied, including commands that reply asynchronously.
+     */
+    public void executeBatch(final List<Map<String, Object>> commands, final Result result)
+    {
+        if ( commands == null )
         {
-            sdk.getSettings().setTestDeviceAdvertisingIds( advertisingIds );
-            testDeviceAdvertisingIdsToSet = null;
+            result.error( "INVALID_ARGUMENTS", "executeBatch() requires a list of commands", null );
+            return;
         }
-        else
+
+        final Batch batch = new Batch( commands.size(), result );
+        if ( commands.isEmpty() )
         {
-            testDeviceAdvertisingIdsToSet = advertisingIds;
+            result.success( batch.results );
+            return;
         }
-    }
 
-    // BANNERS
+        for ( Map<String, Object> command : commands )
+        {
+            final String method = (String) command.get( "method" );
+            final BatchCommandResult commandResult = new BatchCommandResult( method, batch );
 
-    public void createBanner(final String adUnitId, final String bannerPosition)
-    {
-        createAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), bannerPosition );
+            final MethodCallHandler handler = methodHandlers.get( method );
+            if ( handler == null || "initialize".equals( method ) || "executeBatch".equals( method ) )
+            {
+                // Initialization completes asynchronously and batches may not be nested
+                commandResult.notImplemented();
+            }
+            else
+            {
+                try
+                {
+                    handler.onMethodCall( new MethodCall( method, command.get( "args" ) ), commandResult );
+                }
+                catch ( Throwable th )
+                {
+                    e( "Failed to execute batched command " + method + ": " + th );
+                    commandResult.error( "EXCEPTION", th.toString(), null );
+                }
+            }
+        }
     }
 
-    public void setBannerBackgroundColor(final String adUnitId, final String hexColorCode)
+    /**
+     * Collects the replies of the commands of a batch, in command order, and reports them once the last command has replied.
+     */
+    private static class Batch
     {
-        setAdViewBackgroundColor( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), hexColorCode );
-    }
+        private final List<Map<String, Object>> results;
+        private final Result                    result;
+        private int                             pendingReplies;
 
-    public void setBannerPlacement(final String adUnitId, final String placement)
-    {
-        setAdViewPlacement( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), placement );
-    }
+        private Batch(final int commandCount, final Result result)
+        {
+            this.results = new ArrayList<>( commandCount );
+            this.result = result;
+            this.pendingReplies = commandCount;
+        }
 
-    public void updateBannerPosition(final String adUnitId, final String bannerPosition)
-    {
-        updateAdViewPosition( adUnitId, bannerPosition, getDeviceSpecificBannerAdViewAdFormat() );
+        private void onCommandReplied()
+        {
+            if ( --pendingReplies == 0 )
+            {
+                result.success( results );
+            }
+        }
     }
 
-    public void setBannerExtraParameter(final String adUnitId, final String key, final String value)
+    private static class BatchCommandResult
+            implements Result
     {
-        setAdViewExtraParameters( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), key, value );
-    }
+        private final Map<String, Object> values = new HashMap<>( 3 );
+        private final Batch               batch;
+        private boolean                   isReplied;
 
-    public void showBanner(final String adUnitId)
-    {
-        showAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat() );
-    }
+        private BatchCommandResult(final String method, final Batch batch)
+        {
+            this.batch = batch;
 
-    public void hideBanner(final String adUnitId)
-    {
-        hideAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat() );
-    }
+            values.put( "method", method );
+            batch.results.add( values );
+        }
 
-    public void destroyBanner(final String adUnitId)
-    {
+        @Override
+        public void success(@Nullable final Object result)
+        {
+            if ( isReplied ) return;
+
+            values.put( "result", result );
+            onReplied();
+        }
+
+        @Override
+        public void error(final String errorCode, @Nullable final String errorMessage, @Nullable final Object errorDetails)
+        {
+            if ( isReplied ) return;
+
+            values.put( "errorCode", errorCode );
+            values.put( "errorMessage", errorMessage );
+            onReplied();
+        }
+
+        @Override
+        public void notImplemented()
+        {
+            error( "NOT_IMPLEMENTED", "Method cannot be batched: " + values.get( "method" ), null );
+        }
+
+        private void onReplied()
+        {
+            isReplied = true;
+            batch.onCommandReplied();
+        }
+    }
+
+    /**
+     * When enabled, method calls and callbacks are recorded into a ring buffer of {@code capacity} entries, and handlers running longer than {@code frameBudgetMillis} are flagged.
+     */
+    public void setTracingEnabled(final boolean enabled, final int capacity, final double frameBudgetMillis)
+    {
+        tracer = enabled ? new AppLovinMAXTracer( capacity, frameBudgetMillis ) : null;
+    }
+
+    public void getTrace(final Result result)
+    {
+        if ( tracer == null )
+        {
+            result.success( null );
+            return;
+        }
+
+        Map<String, Object> trace = new HashMap<>( 2 );
+        trace.put( "entries", tracer.getEntries() );
+        trace.put( "overFrameBudgetCount", tracer.getOverBudgetCount() );
+
+        result.success( trace );
+    }
+
+    /**
+     * Writes the trace as CSV to {@code path}, or to the app's files directory if no path is given, and reports the path written to.
+     */
+    public void dumpTrace(@Nullable final String path, final Result result)
+    {
+        if ( tracer == null )
+        {
+            result.error( "TRACING_DISABLED", "Tracing is not enabled", null );
+            return;
+        }
+
+        final String csv = tracer.toCsv();
+        final File file = ( path != null ) ? new File( path ) : new File( applicationContext.getFilesDir(), "applovin_max_trace.csv" );
+
+        getBackgroundExecutor().execute( () -> {
+
+            try ( Writer writer = new OutputStreamWriter( new FileOutputStream( file ), "UTF-8" ) )
+            {
+                writer.write( csv );
+
+                AppLovinSdkUtils.runOnUiThread( () -> result.success( file.getAbsolutePath() ) );
+            }
+            catch ( IOException ex )
+            {
+                e( "Unable to write trace to " + file + ": " + ex );
+
+                AppLovinSdkUtils.runOnUiThread( () -> result.error( "IO_ERROR", ex.toString(), null ) );
+            }
+        } );
+    }
+
+    /**
+     * When enabled, the revenue of every impression is appended to a journal in the app's files directory, to be read with {@link #readRevenueJournal(long, int, Result)}.
+     * Records journaled before are kept while disabled. Once enabled, the journal stays open for the lifetime of the process, regardless of engines attaching
+     * and detaching.
+     */
+    public void setRevenueJournalEnabled(final boolean enabled)
+    {
+        if ( enabled && revenueJournal == null )
+        {
+            revenueJournal = new AppLovinMAXRevenueJournal( new File( applicationContext.getFilesDir(), "applovin_max/revenue.journal" ) );
+        }
+        else if ( !enabled && revenueJournal != null )
+        {
+            revenueJournal.close();
+            revenueJournal = null;
+        }
+    }
+
+    public void readRevenueJournal(final long cursor, final int maxRecords, final Result result)
+    {
+        if ( revenueJournal == null )
+        {
+            result.error( "REVENUE_JOURNAL_DISABLED", "Revenue journal is not enabled", null );
+            return;
+        }
+
+        revenueJournal.read( cursor, maxRecords, result );
+    }
+
+    public void acknowledgeRevenueJournal(final long cursor, final Result result)
+    {
+        if ( revenueJournal == null )
+        {
+            result.error( "REVENUE_JOURNAL_DISABLED", "Revenue journal is not enabled", null );
+            return;
+        }
+
+        revenueJournal.acknowledge( cursor, result );
+    }
+
+    /**
+     * Retries failed interstitial, rewarded and banner/MREC loads natively. Load failures are only reported once {@code maxAttempts} retries have failed.
+     * Banners/MRECs are only retried while auto-refresh is stopped, since it retries failed loads otherwise.
+     */
+    public void setLoadRetryPolicy(final int maxAttempts, final long initialDelayMillis, final long maxDelayMillis, final double jitter)
+    {
+        retryScheduler.setPolicy( maxAttempts, initialDelayMillis, maxDelayMillis, jitter );
+    }
+
+    public void getLoadRetryStats(final String adUnitId, final Result result)
+    {
+        result.success( retryScheduler.getStats( adUnitId ) );
+    }
+
+    // EVENT SUBSCRIPTIONS
+
+    /**
+     * Returns the events the calling engine subscribed to, and how many ad events were not sent to engines because they had no listener for them.
+     */
+    public void getEventSubscriptionStats(final Result result)
+    {
+        final Map<String, Object> suppressedByEvent = new HashMap<>();
+        long suppressed = 0;
+        for ( int tag = 0; tag < suppressedAdEventCounts.length; tag++ )
+        {
+            final int count = suppressedAdEventCounts[tag];
+            if ( count == 0 ) continue;
+
+            suppressedByEvent.put( AppLovinMAXAdEventCodec.EVENT_NAMES[tag], count );
+            suppressed += count;
+        }
+
+        final Map<String, Object> stats = new HashMap<>( 3 );
+        stats.put( "subscribedEvents", ( callingEngine != null ) ? callingEngine.getSubscribedEvents() : null );
+        stats.put( "suppressed", suppressed );
+        stats.put( "suppressedByEvent", suppressedByEvent );
+
+        result.success( stats );
+    }
+
+    // AD STATES
+
+    /**
+     * Returns the state of every ad unit and ad view instance the plugin knows of, keyed by ad unit id or ad view handle.
+     */
+    public void getAdStates(final Result result)
+    {
+        final Map<String, Object> states = new HashMap<>( adStates.size() );
+        for ( AppLovinMAXAdState state : adStates.values() )
+        {
+            states.put( state.id, getAdStateInfo( state ) );
+        }
+
+        result.success( states );
+    }
+
+    private void setLoadState(final AppLovinMAXAdState state, final AppLovinMAXAdState.LoadState loadState)
+    {
+        state.loadState = loadState;
+        publishAdState( state );
+    }
+
+    /**
+     * Pushes the current state of the ad unit to the engines that mirror ad states on the Dart side, limited to the engine owning the ad if any. Must be called after every change of the
+     * load state or of whether the ad is showing.
+     */
+    private void publishAdState(final AppLovinMAXAdState state)
+    {
+        state.sequence = ++adStateSequence;
+
+        // Built once and shared by all engines receiving the change, if any
+        Map<String, Object> params = null;
+        for ( AppLovinMAXPlugin engine : getEngines( state ) )
+        {
+            if ( !engine.isAdStateUpdatesEnabled() ) continue;
+
+            if ( params == null )
+            {
+                params = getAdStateInfo( state );
+            }
+
+            fireCallback( "OnAdStateChangedEvent", params, engine );
+        }
+    }
+
+    private static Map<String, Object> getAdStateInfo(final AppLovinMAXAdState state)
+    {
+        final boolean isReady = ( state.pool != null ) ? state.pool.isReady() : state.loadState == AppLovinMAXAdState.LoadState.LOADED;
+
+        final Map<String, Object> info = new HashMap<>( 6 );
+        info.put( "adUnitId", state.id );
+        info.put( "adFormat", state.adFormat.getLabel() );
+        info.put( "loadState", state.loadState.label );
+        info.put( "isReady", Boolean.toString( isReady ) );
+        info.put( "isShowing", Boolean.toString( state.isShowing ) );
+        info.put( "sequence", Long.toString( state.sequence ) );
+
+        return info;
+    }
+
+    // MEMORY
+
+    /**
+     * Sets the lowest {@link ComponentCallbacks2} trim level at which idle interstitials and rewarded ads and pooled widget ad views are released,
+     * and whether hidden programmatic banners and MRECs are destroyed as well. Defaults to {@link #TRIM_MEMORY_BACKGROUND} without hidden ad views.
+     */
+    public void setMemoryTrimPolicy(final int minTrimLevel, final boolean releaseHiddenAdViews)
+    {
+        minMemoryTrimLevel = minTrimLevel;
+        isReleasingHiddenAdViews = releaseHiddenAdViews;
+    }
+
+    public void getMemoryTrimStats(final Result result)
+    {
+        final Map<String, Object> stats = new HashMap<>( 5 );
+        stats.put( "trims", memoryTrimCount );
+        stats.put( "lastTrimLevel", lastMemoryTrimLevel );
+        stats.put( "releasedFullscreenAds", releasedFullscreenAdCount );
+        stats.put( "releasedAdViews", releasedAdViewCount );
+        stats.put( "releasedPooledAdViews", releasedPooledAdViewCount );
+
+        result.success( stats );
+    }
+
+    private void trimMemory(final int level)
+    {
+        lastMemoryTrimLevel = level;
+        if ( level < minMemoryTrimLevel ) return;
+
+        memoryTrimCount++;
+
+        final int releasedFullscreenAds = releaseIdleFullscreenAds();
+        final int releasedAdViews = isReleasingHiddenAdViews ? releaseHiddenAdViews() : 0;
+        final int releasedPooledAdViews = adViewPool.clearParked();
+        releasedPooledAdViewCount += releasedPooledAdViews;
+
+        d( "Trimmed memory at level " + level + " - released " + releasedFullscreenAds + " fullscreen ads, " + releasedAdViews + " ad views and " + releasedPooledAdViews + " pooled ad views" );
+    }
+
+    /**
+     * Destroys the interstitials and rewarded ads that neither hold a loaded ad nor are loading or showing one. They are created again when next used.
+     *
+     * @return The number of ads destroyed.
+     */
+    private int releaseIdleFullscreenAds()
+    {
+        int released = 0;
+        for ( AppLovinMAXAdState state : adStates.values() )
+        {
+            if ( state.pool != null || state.isPrewarmed || state.isShowing ) continue;
+            if ( state.loadState == AppLovinMAXAdState.LoadState.LOADING || state.loadState == AppLovinMAXAdState.LoadState.LOADED ) continue;
+
+            if ( state.interstitial != null )
+            {
+                state.interstitial.setListener( null );
+                state.interstitial.destroy();
+                state.interstitial = null;
+                released++;
+            }
+            else if ( state.rewardedAd != null )
+            {
+                state.rewardedAd.setListener( null );
+                state.rewardedAd.destroy();
+                state.rewardedAd = null;
+                released++;
+            }
+        }
+
+        releasedFullscreenAdCount += released;
+
+        return released;
+    }
+
+    /**
+     * Destroys the programmatic banners and MRECs that are hidden, as if pub destroyed them. Prewarmed ad views that pub has not created yet are
+     * kept, since they are only hidden until then.
+     *
+     * @return The number of ad views destroyed.
+     */
+    private int releaseHiddenAdViews()
+    {
+        final List<AppLovinMAXAdState> hiddenStates = new ArrayList<>();
+        for ( AppLovinMAXAdState state : adStates.values() )
+        {
+            if ( state.adView != null && !state.isVisible && !state.isShowPending && !state.isPrewarmed )
+            {
+                hiddenStates.add( state );
+            }
+        }
+
+        for ( AppLovinMAXAdState state : hiddenStates )
+        {
+            destroyAdView( state );
+        }
+
+        releasedAdViewCount += hiddenStates.size();
+
+        return hiddenStates.size();
+    }
+
+    // BANNERS
+
+    /**
+     * @return The handle that identifies the banner in all other banner methods and in its events, or {@code null} if it could not be created. See
+     * {@link #createAdView(String, MaxAdFormat, String, boolean)}.
+     */
+    @Nullable
+    public String createBanner(final String adUnitId, final String bannerPosition, final boolean newInstance)
+    {
+        return createAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), bannerPosition, newInstance );
+    }
+
+    public void setBannerBackgroundColor(final String adUnitId, final String hexColorCode)
+    {
+        setAdViewBackgroundColor( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), hexColorCode );
+    }
+
+    public void setBannerPlacement(final String adUnitId, final String placement)
+    {
+        setAdViewPlacement( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), placement );
+    }
+
+    public void updateBannerPosition(final String adUnitId, final String bannerPosition)
+    {
+        updateAdViewPosition( adUnitId, bannerPosition, getDeviceSpecificBannerAdViewAdFormat() );
+    }
+
+    public void setBannerExtraParameter(final String adUnitId, final String key, final String value)
+    {
+        setAdViewExtraParameters( adUnitId, getDeviceSpecificBannerAdViewAdFormat(), key, value );
+    }
+
+    public void showBanner(final String adUnitId)
+    {
+        showAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat() );
+    }
+
+    public void hideBanner(final String adUnitId)
+    {
+        hideAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat() );
+    }
+
+    public void destroyBanner(final String adUnitId)
+    {
         destroyAdView( adUnitId, getDeviceSpecificBannerAdViewAdFormat() );
     }
 
     // MRECS
 
-    public void createMRec(final String adUnitId, final String mrecPosition)
+    /**
+     * @return The handle that identifies the MREC in all other MREC methods and in its events, or {@code null} if it could not be created. See
+     * {@link #createAdView(String, MaxAdFormat, String, boolean)}.
+     */
+    @Nullable
+    public String createMRec(final String adUnitId, final String mrecPosition, final boolean newInstance)
     {
-        createAdView( adUnitId, MaxAdFormat.MREC, mrecPosition );
+        return createAdView( adUnitId, MaxAdFormat.MREC, mrecPosition, newInstance );
     }
 
     public void setMRecPlacement(final String adUnitId, final String placement)
@@ -428,136 +1237,403 @@ public class AppLovinMAX
         destroyAdView( adUnitId, MaxAdFormat.MREC );
     }
 
+    // WIDGET AD VIEWS
+
+    /**
+     * Keeps up to {@code maxSize} ad views of disposed MaxAdView widgets around for {@code maxIdleMillis}, with auto-refresh paused, so a widget
+     * with the same ad unit id, format and placement mounted later reuses the ad view and its loaded ad. A size of 0 disables pooling.
+     */
+    public void setAdViewPoolLimits(final int maxSize, final long maxIdleMillis)
+    {
+        adViewPool.setLimits( maxSize, maxIdleMillis );
+    }
+
+    /**
+     * Creates and loads a MaxAdView off-screen, to be adopted by the next MaxAdView widget with the same ad unit id, format and placement so it can show an ad immediately.
+     * The preloaded ad view is destroyed if no widget adopts it within {@code timeoutMillis}.
+     */
+    public void preloadAdView(final String adUnitId, final MaxAdFormat adFormat, @Nullable final String placement, final long timeoutMillis)
+    {
+        if ( sdk == null )
+        {
+            logUninitializedAccessError( "preloadAdView" );
+            return;
+        }
+
+        d( "Preloading " + adFormat.getLabel() + " widget with ad unit id \"" + adUnitId + "\"" );
+
+        final Activity currentActivity = getCurrentActivity();
+        final MaxAdView adView = new MaxAdView( adUnitId, adFormat, sdk, currentActivity != null ? currentActivity : applicationContext );
+        adView.setPlacement( placement );
+        adView.setRevenueListener( this );
+
+        adViewPool.preload( AppLovinMAXAdViewPool.getKey( adUnitId, adFormat, placement ), adView, adFormat, timeoutMillis );
+    }
+
+    /**
+     * Sets the fraction of a MaxAdView widget that must be visible on screen for it to keep auto-refreshing. Widgets that are detached always pause.
+     * By default a widget pauses only once it is entirely off-screen.
+     */
+    public void setAdViewVisibilityThreshold(final float threshold)
+    {
+        adViewVisibilityThreshold = Math.max( threshold, Float.MIN_VALUE );
+    }
+
+    public void getAdViewRefreshStats(final Result result)
+    {
+        final Map<String, Object> stats = new HashMap<>( 2 );
+        stats.put( "pausedMillis", adViewRefreshPausedMillis );
+        stats.put( "pauseCount", adViewRefreshPauseCount );
+
+        result.success( stats );
+    }
+
+    public void getAdViewPoolStats(final Result result)
+    {
+        result.success( adViewPool.getStats() );
+    }
+
+    /**
+     * Returns the load count, failure count and ratio, and p50/p90/p99 and mean load latencies of every ad unit id and ad format that has been loaded.
+     */
+    public void getMetrics(final Result result)
+    {
+        result.success( loadMetrics.getMetrics() );
+    }
+
     // INTERSTITIALS
 
     public void loadInterstitial(final String adUnitId)
     {
-        MaxInterstitialAd interstitial = retrieveInterstitial( adUnitId );
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.INTERSTITIAL );
+        claimAd( state );
+
+        if ( state.pool != null )
+        {
+            // A pool whose slots are all loaded or loading already has nothing to load
+            if ( state.pool.load() ) setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+            return;
+        }
+
+        if ( consumePrewarmedAd( state ) ) return;
+
+        MaxInterstitialAd interstitial = retrieveInterstitial( state );
+        setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+        loadMetrics.onLoadStarted( adUnitId, MaxAdFormat.INTERSTITIAL );
         interstitial.loadAd();
     }
 
     public void isInterstitialReady(final String adUnitId, final Result result)
     {
-        MaxInterstitialAd interstitial = retrieveInterstitial( adUnitId );
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.INTERSTITIAL );
+        if ( state.pool != null )
+        {
+            result.success( state.pool.isReady() );
+            return;
+        }
+
+        MaxInterstitialAd interstitial = retrieveInterstitial( state );
         result.success( interstitial.isReady() );
     }
 
     public void showInterstitial(final String adUnitId, final String placement)
     {
-        MaxInterstitialAd interstitial = retrieveInterstitial( adUnitId );
+        retryScheduler.cancel( adUnitId );
+
+        // Display events go to the engine showing the ad
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.INTERSTITIAL );
+        claimAd( state );
+
+        if ( state.pool != null )
+        {
+            state.pool.show( placement );
+            return;
+        }
+
+        MaxInterstitialAd interstitial = retrieveInterstitial( state );
         interstitial.showAd( placement );
     }
 
     public void setInterstitialExtraParameter(final String adUnitId, final String key, final String value)
     {
-        MaxInterstitialAd interstitial = retrieveInterstitial( adUnitId );
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.INTERSTITIAL );
+        if ( state.pool != null )
+        {
+            state.pool.setExtraParameter( key, value );
+            return;
+        }
+
+        state.putExtraParameter( key, value );
+
+        MaxInterstitialAd interstitial = retrieveInterstitial( state );
         interstitial.setExtraParameter( key, value );
     }
 
+    /**
+     * Keeps up to {@code depth} interstitials loaded for the ad unit once it has been loaded, reloading each one after it is shown.
+     * A depth of 0 goes back to a single interstitial loaded on demand.
+     */
+    public void setInterstitialPoolDepth(final String adUnitId, final int depth)
+    {
+        d( "Setting interstitial pool depth to " + depth + " for ad unit id \"" + adUnitId + "\"" );
+
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.INTERSTITIAL );
+        setPoolDepth( state, depth, listener -> {
+
+            // Adopt the existing interstitial as the first slot so an ad it has already loaded is not lost
+            MaxInterstitialAd interstitial = state.interstitial;
+            state.interstitial = null;
+            if ( interstitial == null )
+            {
+                interstitial = new MaxInterstitialAd( adUnitId, sdk, getActivity( state ) );
+            }
+
+            interstitial.setListener( listener );
+            interstitial.setRevenueListener( this );
+
+            return AppLovinMAXFullscreenAdPool.wrap( interstitial );
+        } );
+    }
+
     // REWARDED
 
     public void loadRewardedAd(final String adUnitId)
     {
-        MaxRewardedAd rewardedAd = retrieveRewardedAd( adUnitId );
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.REWARDED );
+        claimAd( state );
+
+        if ( state.pool != null )
+        {
+            // A pool whose slots are all loaded or loading already has nothing to load
+            if ( state.pool.load() ) setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+            return;
+        }
+
+        if ( consumePrewarmedAd( state ) ) return;
+
+        MaxRewardedAd rewardedAd = retrieveRewardedAd( state );
+        setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+        loadMetrics.onLoadStarted( adUnitId, MaxAdFormat.REWARDED );
         rewardedAd.loadAd();
     }
 
     public void isRewardedAdReady(final String adUnitId, final Result result)
     {
-        MaxRewardedAd rewardedAd = retrieveRewardedAd( adUnitId );
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.REWARDED );
+        if ( state.pool != null )
+        {
+            result.success( state.pool.isReady() );
+            return;
+        }
+
+        MaxRewardedAd rewardedAd = retrieveRewardedAd( state );
         result.success( rewardedAd.isReady() );
     }
 
     public void showRewardedAd(final String adUnitId, final String placement)
     {
-        MaxRewardedAd rewardedAd = retrieveRewardedAd( adUnitId );
+        retryScheduler.cancel( adUnitId );
+
+        // Display events go to the engine showing the ad
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.REWARDED );
+        claimAd( state );
+
+        if ( state.pool != null )
+        {
+            state.pool.show( placement );
+            return;
+        }
+
+        MaxRewardedAd rewardedAd = retrieveRewardedAd( state );
         rewardedAd.showAd( placement );
     }
 
     public void setRewardedAdExtraParameter(final String adUnitId, final String key, final String value)
     {
-        MaxRewardedAd rewardedAd = retrieveRewardedAd( adUnitId );
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.REWARDED );
+        if ( state.pool != null )
+        {
+            state.pool.setExtraParameter( key, value );
+            return;
+        }
+
+        state.putExtraParameter( key, value );
+
+        MaxRewardedAd rewardedAd = retrieveRewardedAd( state );
         rewardedAd.setExtraParameter( key, value );
     }
 
+    /**
+     * Keeps a rewarded ad loaded for the ad unit once it has been loaded, reloading it after it is shown.
+     * <p>
+     * NOTE: The SDK only provides one {@link MaxRewardedAd} per ad unit, so any depth greater than 1 is capped to 1.
+     */
+    public void setRewardedAdPoolDepth(final String adUnitId, final int depth)
+    {
+        d( "Setting rewarded ad pool depth to " + depth + " for ad unit id \"" + adUnitId + "\"" );
+
+        final AppLovinMAXAdState state = getAdState( adUnitId, MaxAdFormat.REWARDED );
+        setPoolDepth( state, Math.min( depth, 1 ), listener -> {
+
+            state.rewardedAd = null;
+
+            MaxRewardedAd rewardedAd = MaxRewardedAd.getInstance( adUnitId, sdk, getActivity( state ) );
+            rewardedAd.setListener( listener );
+            rewardedAd.setRevenueListener( this );
+
+            return AppLovinMAXFullscreenAdPool.wrap( rewardedAd );
+        } );
+    }
+
+    public void getAdPoolStats(final String adUnitId, final Result result)
+    {
+        final AppLovinMAXAdState state = adStates.get( adUnitId );
+        result.success( ( state != null && state.pool != null ) ? state.pool.getStats() : null );
+    }
+
+    private void setPoolDepth(final AppLovinMAXAdState state, final int depth, final AppLovinMAXFullscreenAdPool.FullscreenAdFactory factory)
+    {
+        if ( sdk == null )
+        {
+            logUninitializedAccessError( "setPoolDepth" );
+            return;
+        }
+
+        if ( depth <= 0 )
+        {
+            if ( state.pool != null )
+            {
+                state.pool.destroy();
+                state.pool = null;
+                retryScheduler.cancel( state.adUnitId );
+            }
+        }
+        else if ( state.pool == null )
+        {
+            // The pool adopts or replaces the prewarmed ad
+            state.isPrewarmed = false;
+            state.prewarmedAd = null;
+
+            state.pool = new AppLovinMAXFullscreenAdPool( state.adUnitId, state.adFormat, depth, state.loadState, factory, this, loadMetrics );
+        }
+        else
+        {
+            state.pool.setDepth( depth );
+        }
+    }
+
     // AD CALLBACKS
 
     @Override
     public void onAdLoaded(MaxAd ad)
     {
-        String name;
-        MaxAdFormat adFormat = ad.getFormat();
-        if ( MaxAdFormat.BANNER == adFormat || MaxAdFormat.LEADER == adFormat || MaxAdFormat.MREC == adFormat )
+        final AppLovinMAXAdState state = adStates.get( ad.getAdUnitId() );
+        if ( state == null )
+        {
+            logStackTrace( new IllegalStateException( "invalid adUnitId: " + ad.getAdUnitId() ) );
+            return;
+        }
+
+        onAdLoaded( state, ad );
+    }
+
+    private void onAdLoaded(final AppLovinMAXAdState state, final MaxAd ad)
+    {
+        retryScheduler.onLoadSucceeded( state.id );
+        loadMetrics.onLoadSucceeded( state.adUnitId, ad.getFormat() );
+
+        setLoadState( state, AppLovinMAXAdState.LoadState.LOADED );
+
+        if ( state.isPrewarmed )
         {
-            name = ( MaxAdFormat.MREC == adFormat ) ? "OnMRecAdLoadedEvent" : "OnBannerAdLoadedEvent";
+            state.prewarmedAd = ad;
+        }
 
-            String adViewPosition = mAdViewPositions.get( ad.getAdUnitId() );
-            if ( !TextUtils.isEmpty( adViewPosition ) )
+        if ( state.isAdView() )
+        {
+            if ( state.adViewPosition != null && !state.isPrewarmed )
             {
-                // Only position ad if not native UI component
-                positionAdView( ad );
+                // Only position ad if not native UI component, prewarmed ad views are positioned once pub creates them
+                positionAdView( state );
             }
 
             // Do not auto-refresh by default if the ad view is not showing yet (e.g. first load during app launch and publisher does not automatically show banner upon load success)
             // We will resume auto-refresh in {@link #showBanner(String)}.
-            MaxAdView adView = retrieveAdView( ad.getAdUnitId(), adFormat );
-            if ( adView != null && adView.getVisibility() != View.VISIBLE )
+            if ( state.adView != null && !state.isVisible )
             {
-                adView.stopAutoRefresh();
+                state.adView.stopAutoRefresh();
+                state.isAutoRefreshStopped = true;
             }
         }
-        else if ( MaxAdFormat.INTERSTITIAL == adFormat )
-        {
-            name = "OnInterstitialLoadedEvent";
-        }
-        else if ( MaxAdFormat.REWARDED == adFormat )
+
+        fireAdEvent( state, state.loadedEventName, ad );
+    }
+
+    @Override
+    public void onAdLoadFailed(final String adUnitId, final MaxError error)
+    {
+        if ( TextUtils.isEmpty( adUnitId ) )
         {
-            name = "OnRewardedAdLoadedEvent";
+            logStackTrace( new IllegalArgumentException( "adUnitId cannot be null" ) );
+            return;
         }
-        else
+
+        final AppLovinMAXAdState state = adStates.get( adUnitId );
+        if ( state == null )
         {
-            logInvalidAdFormat( adFormat );
+            logStackTrace( new IllegalStateException( "invalid adUnitId: " + adUnitId ) );
             return;
         }
 
-        fireCallback( name, getAdInfo( ad ) );
+        onAdLoadFailed( state, error );
     }
 
-    @Override
-    public void onAdLoadFailed(final String adUnitId, final MaxError error)
+    private void onAdLoadFailed(final AppLovinMAXAdState state, final MaxError error)
     {
-        if ( TextUtils.isEmpty( adUnitId ) )
+        final String adUnitId = state.adUnitId;
+
+        setLoadState( state, AppLovinMAXAdState.LoadState.FAILED );
+        loadMetrics.onLoadFailed( adUnitId, state.adFormat );
+
+        // A prewarmed ad unit is loaded normally once pub loads or creates it, so neither retry nor report the failure
+        if ( state.isPrewarmed )
         {
-            logStackTrace( new IllegalArgumentException( "adUnitId cannot be null" ) );
+            state.isPrewarmed = false;
             return;
         }
 
-        String name;
-        if ( mAdViews.containsKey( adUnitId ) )
+        final Runnable reload;
+        if ( state.isAdView() && !state.isAutoRefreshStopped )
         {
-            name = ( MaxAdFormat.MREC == mAdViewAdFormats.get( adUnitId ) ) ? "OnMRecAdLoadFailedEvent" : "OnBannerAdLoadFailedEvent";
+            // The SDK's auto-refresh retries the load already, so retrying here as well would double the requests
+            reload = null;
         }
-        else if ( mInterstitials.containsKey( adUnitId ) )
+        else if ( state.isAdView() )
         {
-            name = "OnInterstitialLoadFailedEvent";
+            reload = () -> {
+                MaxAdView adView = state.adView;
+                if ( adView == null ) return;
+
+                setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+                loadMetrics.onLoadStarted( adUnitId, state.adFormat );
+                adView.loadAd();
+            };
         }
-        else if ( mRewardedAds.containsKey( adUnitId ) )
+        else if ( MaxAdFormat.INTERSTITIAL == state.adFormat )
         {
-            name = "OnRewardedAdLoadFailedEvent";
+            reload = () -> loadInterstitial( adUnitId );
         }
         else
         {
-            logStackTrace( new IllegalStateException( "invalid adUnitId: " + adUnitId ) );
-            return;
+            reload = () -> loadRewardedAd( adUnitId );
         }
 
+        // Only report the failure once all retries, if any, have been used up
+        if ( reload != null && retryScheduler.onLoadFailed( state.id, reload ) ) return;
+
         try
         {
-            Map<String, String> params = new HashMap<>( 3 );
-            params.put( "adUnitId", adUnitId );
-            params.put( "errorCode", Integer.toString( error.getCode() ) );
-            params.put( "errorMessage", error.getMessage() );
-            fireCallback( name, params );
+            fireAdEvent( state, state.loadFailedEventName, null, error, null, 0 );
         }
         catch ( Throwable ignored ) { }
     }
@@ -565,76 +1641,43 @@ public class AppLovinMAX
     @Override
     public void onAdClicked(final MaxAd ad)
     {
-        final MaxAdFormat adFormat = ad.getFormat();
-        final String name;
-        if ( MaxAdFormat.BANNER == adFormat || MaxAdFormat.LEADER == adFormat )
-        {
-            name = "OnBannerAdClickedEvent";
-        }
-        else if ( MaxAdFormat.MREC == adFormat )
-        {
-            name = "OnMRecAdClickedEvent";
-        }
-        else if ( MaxAdFormat.INTERSTITIAL == adFormat )
-        {
-            name = "OnInterstitialClickedEvent";
-        }
-        else if ( MaxAdFormat.REWARDED == adFormat )
-        {
-            name = "OnRewardedAdClickedEvent";
-        }
-        else
+        final AppLovinMAXAdState state = adStates.get( ad.getAdUnitId() );
+        if ( state == null )
         {
-            logInvalidAdFormat( adFormat );
+            logInvalidAdFormat( ad.getFormat() );
             return;
         }
 
-        fireCallback( name, getAdInfo( ad ) );
+        fireAdEvent( state, state.clickedEventName, ad );
     }
 
     @Override
     public void onAdDisplayed(final MaxAd ad)
     {
         // BMLs do not support [DISPLAY] events
-        final MaxAdFormat adFormat = ad.getFormat();
-        if ( adFormat != MaxAdFormat.INTERSTITIAL && adFormat != MaxAdFormat.REWARDED ) return;
+        final AppLovinMAXAdState state = adStates.get( ad.getAdUnitId() );
+        if ( state == null || state.displayedEventName == null ) return;
 
-        final String name;
-        if ( MaxAdFormat.INTERSTITIAL == adFormat )
-        {
-            name = "OnInterstitialDisplayedEvent";
-        }
-        else // REWARDED
-        {
-            name = "OnRewardedAdDisplayedEvent";
-        }
+        // The displayed ad is used up, though a pool may still hold other loaded ads
+        state.isShowing = true;
+        setLoadState( state, ( state.pool != null ) ? state.pool.getLoadState() : AppLovinMAXAdState.LoadState.IDLE );
 
-        fireCallback( name, getAdInfo( ad ) );
+        fireAdEvent( state, state.displayedEventName, ad );
     }
 
     @Override
     public void onAdDisplayFailed(final MaxAd ad, final MaxError error)
     {
         // BMLs do not support [DISPLAY] events
-        final MaxAdFormat adFormat = ad.getFormat();
-        if ( adFormat != MaxAdFormat.INTERSTITIAL && adFormat != MaxAdFormat.REWARDED ) return;
+        final AppLovinMAXAdState state = adStates.get( ad.getAdUnitId() );
+        if ( state == null || state.displayFailedEventName == null ) return;
 
-        final String name;
-        if ( MaxAdFormat.INTERSTITIAL == adFormat )
-        {
-            name = "OnInterstitialAdFailedToDisplayEvent";
-        }
-        else // REWARDED
-        {
-            name = "OnRewardedAdFailedToDisplayEvent";
-        }
+        state.isShowing = false;
+        publishAdState( state );
 
         try
         {
-            Map<String, String> params = getAdInfo( ad );
-            params.put( "errorCode", Integer.toString( error.getCode() ) );
-            params.put( "errorMessage", error.getMessage() );
-            fireCallback( name, params );
+            fireAdEvent( state, state.displayFailedEventName, ad, error, null, 0 );
         }
         catch ( Throwable ignored ) { }
     }
@@ -643,46 +1686,13 @@ public class AppLovinMAX
     public void onAdHidden(final MaxAd ad)
     {
         // BMLs do not support [HIDDEN] events
-        final MaxAdFormat adFormat = ad.getFormat();
-        if ( adFormat != MaxAdFormat.INTERSTITIAL && adFormat != MaxAdFormat.REWARDED ) return;
-
-        String name;
-        if ( MaxAdFormat.INTERSTITIAL == adFormat )
-        {
-            name = "OnInterstitialHiddenEvent";
-        }
-        else // REWARDED
-        {
-            name = "OnRewardedAdHiddenEvent";
-        }
-
-        fireCallback( name, getAdInfo( ad ) );
-    }
+        final AppLovinMAXAdState state = adStates.get( ad.getAdUnitId() );
+        if ( state == null || state.hiddenEventName == null ) return;
 
-    @Override
-    public void onAdExpanded(final MaxAd ad)
-    {
-        final MaxAdFormat adFormat = ad.getFormat();
-        if ( adFormat != MaxAdFormat.BANNER && adFormat != MaxAdFormat.LEADER && adFormat != MaxAdFormat.MREC )
-        {
-            logInvalidAdFormat( adFormat );
-            return;
-        }
-
-        fireCallback( ( MaxAdFormat.MREC == adFormat ) ? "OnMrecAdExpandedEvent" : "OnBannerAdExpandedEvent", getAdInfo( ad ) );
-    }
-
-    @Override
-    public void onAdCollapsed(final MaxAd ad)
-    {
-        final MaxAdFormat adFormat = ad.getFormat();
-        if ( adFormat != MaxAdFormat.BANNER && adFormat != MaxAdFormat.LEADER && adFormat != MaxAdFormat.MREC )
-        {
-            logInvalidAdFormat( adFormat );
-            return;
-        }
+        state.isShowing = false;
+        publishAdState( state );
 
-        fireCallback( ( MaxAdFormat.MREC == adFormat ) ? "OnMRecAdCollapsedEvent" : "OnBannerAdCollapsedEvent", getAdInfo( ad ) );
+        fireAdEvent( state, state.hiddenEventName, ad );
     }
 
     @Override
@@ -707,178 +1717,264 @@ public class AppLovinMAX
             return;
         }
 
+        final AppLovinMAXAdState state = adStates.get( ad.getAdUnitId() );
+        if ( state == null ) return;
+
         final String rewardLabel = reward != null ? reward.getLabel() : "";
-        final String rewardAmount = Integer.toString( reward != null ? reward.getAmount() : 0 );
+        final int rewardAmount = reward != null ? reward.getAmount() : 0;
 
         try
         {
-            Map<String, String> params = getAdInfo( ad );
-            params.put( "rewardLabel", rewardLabel );
-            params.put( "rewardAmount", rewardAmount );
-            fireCallback( "OnRewardedAdReceivedRewardEvent", params );
+            fireAdEvent( state, "OnRewardedAdReceivedRewardEvent", ad, null, rewardLabel, rewardAmount );
         }
         catch ( Throwable ignored ) { }
     }
 
+    @Override
+    public void onAdRevenuePaid(final MaxAd ad)
+    {
+        if ( revenueJournal != null )
+        {
+            revenueJournal.append( ad );
+        }
+    }
+
+    /**
+     * Listens to the programmatic ad view of a single state, so that callbacks reach the right instance when several ad views share an ad unit id.
+     */
+    private class AdViewListener
+            implements MaxAdViewAdListener
+    {
+        private final AppLovinMAXAdState state;
+
+        private AdViewListener(final AppLovinMAXAdState state)
+        {
+            this.state = state;
+        }
+
+        @Override
+        public void onAdLoaded(final MaxAd ad)
+        {
+            AppLovinMAX.this.onAdLoaded( state, ad );
+        }
+
+        @Override
+        public void onAdLoadFailed(final String adUnitId, final MaxError error)
+        {
+            AppLovinMAX.this.onAdLoadFailed( state, error );
+        }
+
+        @Override
+        public void onAdClicked(final MaxAd ad)
+        {
+            fireAdEvent( state, state.clickedEventName, ad );
+        }
+
+        @Override
+        public void onAdExpanded(final MaxAd ad)
+        {
+            fireAdEvent( state, state.expandedEventName, ad );
+        }
+
+        @Override
+        public void onAdCollapsed(final MaxAd ad)
+        {
+            fireAdEvent( state, state.collapsedEventName, ad );
+        }
+
+        // BMLs do not support [DISPLAY] or [HIDDEN] events
+
+        @Override
+        public void onAdDisplayed(final MaxAd ad) { }
+
+        @Override
+        public void onAdDisplayFailed(final MaxAd ad, final MaxError error) { }
+
+        @Override
+        public void onAdHidden(final MaxAd ad) { }
+    }
+
     // INTERNAL METHODS
 
-    private void createAdView(final String adUnitId, final MaxAdFormat adFormat, final String adViewPosition)
+    /**
+     * Creates and loads the ad view of the ad unit, or an additional ad view of the ad unit if {@code newInstance} is set.
+     *
+     * @return The handle of the ad view, which is the ad unit id for the default instance and a new unique handle for additional instances, or
+     * {@code null} if the ad view could not be created.
+     */
+    @Nullable
+    private String createAdView(final String adUnitId, final MaxAdFormat adFormat, final String adViewPosition, final boolean newInstance)
     {
-        d( "Creating " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\" and position: \"" + adViewPosition + "\"" );
+        final String adViewId = newInstance ? adUnitId + "#" + ( ++adViewInstanceCount ) : adUnitId;
+
+        d( "Creating " + adFormat.getLabel() + " \"" + adViewId + "\" with ad unit id \"" + adUnitId + "\" and position: \"" + adViewPosition + "\"" );
+
+        final AppLovinMAXAdState state = getAdState( adViewId, adUnitId, adFormat );
+        claimAd( state );
 
-        // Retrieve ad view from the map
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat, adViewPosition );
+        final MaxAdView adView = retrieveAdView( state, adViewPosition );
         if ( adView == null )
         {
             e( adFormat.getLabel() + " does not exist" );
-            return;
+            if ( newInstance ) adStates.remove( adViewId );
+
+            return null;
         }
 
+        recordAdUnitUsage( adUnitId, adFormat, adViewPosition );
+
         adView.setVisibility( View.GONE );
+        state.isVisible = false;
+
+        if ( state.isPrewarmed )
+        {
+            // The prewarmed ad view was created with the position of the last session
+            state.adViewPosition = AppLovinMAXAdViewPosition.parse( adViewPosition );
+        }
 
         if ( adView.getParent() == null )
         {
-            final Activity currentActivity = getCurrentActivity();
-            final RelativeLayout relativeLayout = new RelativeLayout( currentActivity );
-            currentActivity.addContentView( relativeLayout, new LinearLayout.LayoutParams( LinearLayout.LayoutParams.MATCH_PARENT,
-                                                                                           LinearLayout.LayoutParams.MATCH_PARENT ) );
-            relativeLayout.addView( adView );
+            adViewOverlay.addAdView( getActivity( state ), adView );
 
             // Position ad view immediately so if publisher sets color before ad loads, it will not be the size of the screen
-            mAdViewAdFormats.put( adUnitId, adFormat );
-            positionAdView( adUnitId, adFormat );
+            state.adFormat = adFormat;
+            positionAdView( state );
         }
 
-        adView.loadAd();
+        if ( !consumePrewarmedAd( state ) )
+        {
+            setLoadState( state, AppLovinMAXAdState.LoadState.LOADING );
+            loadMetrics.onLoadStarted( adUnitId, adFormat );
+            adView.loadAd();
+        }
 
         // The publisher may have requested to show the banner before it was created. Now that the banner is created, show it.
-        if ( mAdUnitIdsToShowAfterCreate.contains( adUnitId ) )
+        if ( state.isShowPending )
         {
-            showAdView( adUnitId, adFormat );
-            mAdUnitIdsToShowAfterCreate.remove( adUnitId );
+            state.isShowPending = false;
+            showAdView( adViewId, adFormat );
         }
+
+        return adViewId;
     }
 
     private void setAdViewPlacement(final String adUnitId, final MaxAdFormat adFormat, final String placement)
     {
         d( "Setting placement \"" + placement + "\" for " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\"" );
 
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
-        if ( adView == null )
-        {
-            e( adFormat.getLabel() + " does not exist" );
-            return;
-        }
+        final AppLovinMAXAdState state = getAdViewState( adUnitId, adFormat );
+        if ( state == null ) return;
 
-        adView.setPlacement( placement );
+        state.placement = placement;
+        state.adView.setPlacement( placement );
     }
 
     private void updateAdViewPosition(final String adUnitId, final String adViewPosition, final MaxAdFormat adFormat)
     {
         d( "Updating " + adFormat.getLabel() + " position to \"" + adViewPosition + "\" for ad unit id \"" + adUnitId + "\"" );
 
-        // Retrieve ad view from the map
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
-        if ( adView == null )
-        {
-            e( adFormat.getLabel() + " does not exist" );
-            return;
-        }
+        final AppLovinMAXAdState state = getAdViewState( adUnitId, adFormat );
+        if ( state == null ) return;
 
         // Check if the previous position is same as the new position. If so, no need to update the position again.
-        final String previousPosition = mAdViewPositions.get( adUnitId );
-        if ( adViewPosition == null || adViewPosition.equals( previousPosition ) ) return;
+        final AppLovinMAXAdViewPosition position = AppLovinMAXAdViewPosition.parse( adViewPosition );
+        if ( position == null || position == state.adViewPosition ) return;
 
-        mAdViewPositions.put( adUnitId, adViewPosition );
-        positionAdView( adUnitId, adFormat );
+        state.adViewPosition = position;
+        positionAdView( state );
     }
 
     private void showAdView(final String adUnitId, final MaxAdFormat adFormat)
     {
         d( "Showing " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\"" );
 
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
+        final AppLovinMAXAdState state = getAdState( adUnitId, adFormat );
+        final MaxAdView adView = state.adView;
         if ( adView == null )
         {
             e( adFormat.getLabel() + " does not exist for ad unit id " + adUnitId );
 
-            // The adView has not yet been created. Store the ad unit ID, so that it can be displayed once the banner has been created.
-            mAdUnitIdsToShowAfterCreate.add( adUnitId );
+            // The adView has not yet been created. Remember to display it once the banner has been created.
+            state.isShowPending = true;
             return;
         }
 
+        state.isVisible = true;
         adView.setVisibility( View.VISIBLE );
         adView.startAutoRefresh();
+        state.isAutoRefreshStopped = false;
+
+        // The SDK retries failed loads itself once auto-refresh runs
+        retryScheduler.cancel( state.id );
     }
 
     private void hideAdView(final String adUnitId, final MaxAdFormat adFormat)
     {
         d( "Hiding " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\"" );
-        mAdUnitIdsToShowAfterCreate.remove( adUnitId );
 
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
-        if ( adView == null )
+        final AppLovinMAXAdState state = adStates.get( adUnitId );
+        if ( state != null )
+        {
+            state.isShowPending = false;
+        }
+
+        if ( state == null || state.adView == null )
         {
             e( adFormat.getLabel() + " does not exist" );
             return;
         }
 
-        adView.setVisibility( View.GONE );
-        adView.stopAutoRefresh();
+        state.isVisible = false;
+        state.adView.setVisibility( View.GONE );
+        state.adView.stopAutoRefresh();
+        state.isAutoRefreshStopped = true;
     }
 
     private void destroyAdView(final String adUnitId, final MaxAdFormat adFormat)
     {
         d( "Destroying " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\"" );
 
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
-        if ( adView == null )
-        {
-            e( adFormat.getLabel() + " does not exist" );
-            return;
-        }
+        final AppLovinMAXAdState state = getAdViewState( adUnitId, adFormat );
+        if ( state == null ) return;
 
-        final ViewParent parent = adView.getParent();
-        if ( parent instanceof ViewGroup )
-        {
-            ( (ViewGroup) parent ).removeView( adView );
-        }
+        destroyAdView( state );
+    }
+
+    private void destroyAdView(final AppLovinMAXAdState state)
+    {
+        final MaxAdView adView = state.adView;
+        adViewOverlay.removeAdView( adView );
 
         adView.setListener( null );
         adView.destroy();
 
-        mAdViews.remove( adUnitId );
-        mAdViewAdFormats.remove( adUnitId );
-        mAdViewPositions.remove( adUnitId );
+        retryScheduler.cancel( state.id );
+
+        state.adView = null;
+        adStates.remove( state.id );
+
+        // Engines mirroring ad states keep the ad view as idle
+        setLoadState( state, AppLovinMAXAdState.LoadState.IDLE );
     }
 
     private void setAdViewBackgroundColor(final String adUnitId, final MaxAdFormat adFormat, final String hexColorCode)
     {
         d( "Setting " + adFormat.getLabel() + " with ad unit id \"" + adUnitId + "\" to color: " + hexColorCode );
 
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
-        if ( adView == null )
-        {
-            e( adFormat.getLabel() + " does not exist" );
-            return;
-        }
+        final AppLovinMAXAdState state = getAdViewState( adUnitId, adFormat );
+        if ( state == null ) return;
 
-        adView.setBackgroundColor( Color.parseColor( hexColorCode ) );
+        state.adView.setBackgroundColor( Color.parseColor( hexColorCode ) );
     }
 
     private void setAdViewExtraParameters(final String adUnitId, final MaxAdFormat adFormat, final String key, final String value)
     {
         d( "Setting " + adFormat.getLabel() + " extra with key: \"" + key + "\" value: " + value );
 
-        // Retrieve ad view from the map
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
-        if ( adView == null )
-        {
-            e( adFormat.getLabel() + " does not exist" );
-            return;
-        }
+        final AppLovinMAXAdState state = getAdViewState( adUnitId, adFormat );
+        if ( state == null ) return;
 
-        adView.setExtraParameter( key, value );
+        state.adView.setExtraParameter( key, value );
 
         // Handle local changes as needed
         if ( "force_banner".equalsIgnoreCase( key ) && MaxAdFormat.MREC != adFormat )
@@ -895,9 +1991,25 @@ public class AppLovinMAX
                 forcedAdFormat = getDeviceSpecificBannerAdViewAdFormat();
             }
 
-            mAdViewAdFormats.put( adUnitId, forcedAdFormat );
-            positionAdView( adUnitId, forcedAdFormat );
+            state.adFormat = forcedAdFormat;
+            positionAdView( state );
+        }
+    }
+
+    /**
+     * @return The state of the ad unit if its ad view exists, or {@code null} after logging an error.
+     */
+    @Nullable
+    private AppLovinMAXAdState getAdViewState(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        final AppLovinMAXAdState state = adStates.get( adUnitId );
+        if ( state == null || state.adView == null )
+        {
+            e( adFormat.getLabel() + " does not exist" );
+            return null;
         }
+
+        return state;
     }
 
     // Utility Methods
@@ -935,131 +2047,127 @@ public class AppLovinMAX
         Log.e( SDK_TAG, fullMessage );
     }
 
-    private MaxInterstitialAd retrieveInterstitial(String adUnitId)
+    private MaxInterstitialAd retrieveInterstitial(final AppLovinMAXAdState state)
     {
-        MaxInterstitialAd result = mInterstitials.get( adUnitId );
-        if ( result == null )
+        if ( state.interstitial == null )
         {
-            result = new MaxInterstitialAd( adUnitId, sdk, getCurrentActivity() );
-            result.setListener( this );
+            state.interstitial = new MaxInterstitialAd( state.adUnitId, sdk, getActivity( state ) );
+            state.interstitial.setListener( this );
+            state.interstitial.setRevenueListener( this );
 
-            mInterstitials.put( adUnitId, result );
+            if ( state.extraParameters != null )
+            {
+                for ( Map.Entry<String, String> extraParameter : state.extraParameters.entrySet() )
+                {
+                    state.interstitial.setExtraParameter( extraParameter.getKey(), extraParameter.getValue() );
+                }
+            }
         }
 
-        return result;
+        return state.interstitial;
     }
 
-    private MaxRewardedAd retrieveRewardedAd(String adUnitId)
+    private MaxRewardedAd retrieveRewardedAd(final AppLovinMAXAdState state)
     {
-        MaxRewardedAd result = mRewardedAds.get( adUnitId );
-        if ( result == null )
+        if ( state.rewardedAd == null )
         {
-            result = MaxRewardedAd.getInstance( adUnitId, sdk, getCurrentActivity() );
-            result.setListener( this );
+            state.rewardedAd = MaxRewardedAd.getInstance( state.adUnitId, sdk, getActivity( state ) );
+            state.rewardedAd.setListener( this );
+            state.rewardedAd.setRevenueListener( this );
 
-            mRewardedAds.put( adUnitId, result );
+            if ( state.extraParameters != null )
+            {
+                for ( Map.Entry<String, String> extraParameter : state.extraParameters.entrySet() )
+                {
+                    state.rewardedAd.setExtraParameter( extraParameter.getKey(), extraParameter.getValue() );
+                }
+            }
         }
 
-        return result;
+        return state.rewardedAd;
     }
 
-    private MaxAdView retrieveAdView(String adUnitId, MaxAdFormat adFormat)
+    /**
+     * @return The ad view of the ad unit, created if it does not exist yet and {@code adViewPosition} is given.
+     */
+    @Nullable
+    private MaxAdView retrieveAdView(final AppLovinMAXAdState state, @Nullable final String adViewPosition)
     {
-        return retrieveAdView( adUnitId, adFormat, null );
-    }
-
-    public MaxAdView retrieveAdView(String adUnitId, MaxAdFormat adFormat, String adViewPosition)
-    {
-        MaxAdView result = mAdViews.get( adUnitId );
-        if ( result == null && adViewPosition != null )
+        if ( state.adView == null && adViewPosition != null )
         {
-            result = new MaxAdView( adUnitId, adFormat, sdk, getCurrentActivity() );
-            result.setListener( this );
+            state.adView = new MaxAdView( state.adUnitId, state.adFormat, sdk, getActivity( state ) );
+            state.adView.setListener( new AdViewListener( state ) );
+            state.adView.setRevenueListener( this );
 
-            mAdViews.put( adUnitId, result );
-            mAdViewPositions.put( adUnitId, adViewPosition );
+            state.adViewPosition = AppLovinMAXAdViewPosition.parse( adViewPosition );
         }
 
-        return result;
-    }
-
-    private void positionAdView(MaxAd ad)
-    {
-        positionAdView( ad.getAdUnitId(), ad.getFormat() );
+        return state.adView;
     }
 
-    private void positionAdView(String adUnitId, MaxAdFormat adFormat)
+    private void positionAdView(final AppLovinMAXAdState state)
     {
-        final MaxAdView adView = retrieveAdView( adUnitId, adFormat );
+        final MaxAdView adView = state.adView;
+        final MaxAdFormat adFormat = state.adFormat;
         if ( adView == null )
         {
             e( adFormat.getLabel() + " does not exist" );
             return;
         }
 
-        final String adViewPosition = mAdViewPositions.get( adUnitId );
-        final RelativeLayout relativeLayout = (RelativeLayout) adView.getParent();
-        if ( relativeLayout == null )
+        final AppLovinMAXAdViewPosition adViewPosition = state.adViewPosition;
+        final FrameLayout.LayoutParams params = adViewOverlay.getLayoutParams( adView );
+        if ( params == null )
         {
             e( adFormat.getLabel() + "'s parent does not exist" );
             return;
         }
 
-        // Size the ad
-        final AdViewSize adViewSize = getAdViewSize( adFormat );
-        final int width = AppLovinSdkUtils.dpToPx( getCurrentActivity(), adViewSize.widthDp );
-        final int height = AppLovinSdkUtils.dpToPx( getCurrentActivity(), adViewSize.heightDp );
-
-        final RelativeLayout.LayoutParams params = (RelativeLayout.LayoutParams) adView.getLayoutParams();
-        params.height = height;
-        adView.setLayoutParams( params );
-
-        // Parse gravity
-        int gravity = 0;
-
-        // Reset rotation, translation and margins so that the banner can be positioned again
+        // Reset rotation and translation so that the banner can be positioned again
         adView.setRotation( 0 );
         adView.setTranslationX( 0 );
-        params.setMargins( 0, 0, 0, 0 );
 
-        if ( "centered".equalsIgnoreCase( adViewPosition ) )
+        applyAdViewLayout( params, adViewPosition, getAdViewPixelSize( adFormat ), adFormat );
+        adViewOverlay.requestLayout( adView );
+    }
+
+    @VisibleForTesting
+    static void applyAdViewLayout(final FrameLayout.LayoutParams params, final AppLovinMAXAdViewPosition adViewPosition, final Point adViewPixelSize, final MaxAdFormat adFormat)
+    {
+        // Size the ad
+        params.height = adViewPixelSize.y;
+
+        if ( adViewPosition.widthMode == AppLovinMAXAdViewPosition.WidthMode.STRETCH_BANNER )
         {
-            gravity = Gravity.CENTER_VERTICAL | Gravity.CENTER_HORIZONTAL;
+            params.width = ( MaxAdFormat.MREC == adFormat ) ? adViewPixelSize.x : FrameLayout.LayoutParams.MATCH_PARENT; // Stretch width if banner
         }
-        else
+        else if ( adViewPosition.widthMode == AppLovinMAXAdViewPosition.WidthMode.FIXED )
         {
-            // Figure out vertical params
-            if ( adViewPosition.contains( "top" ) )
-            {
-                gravity = Gravity.TOP;
-            }
-            else if ( adViewPosition.contains( "bottom" ) )
-            {
-                gravity = Gravity.BOTTOM;
-            }
+            params.width = adViewPixelSize.x;
+        }
 
-            // Figure out horizontal params
-            if ( adViewPosition.contains( "center" ) )
-            {
-                gravity |= Gravity.CENTER_HORIZONTAL;
-                params.width = ( MaxAdFormat.MREC == adFormat ) ? width : RelativeLayout.LayoutParams.MATCH_PARENT; // Stretch width if banner
-            }
-            else
-            {
-                params.width = width;
+        // Reset margins so that the banner can be positioned again
+        params.setMargins( 0, 0, 0, 0 );
 
-                if ( adViewPosition.contains( "left" ) )
-                {
-                    gravity |= Gravity.LEFT;
-                }
-                else if ( adViewPosition.contains( "right" ) )
-                {
-                    gravity |= Gravity.RIGHT;
-                }
-            }
+        params.gravity = adViewPosition.gravity;
+    }
+
+    /**
+     * @return The cached size of the ad format in pixels, computed for the current density.
+     */
+    private Point getAdViewPixelSize(final MaxAdFormat adFormat)
+    {
+        Point pixelSize = adViewPixelSizes.get( adFormat );
+        if ( pixelSize == null )
+        {
+            final AdViewSize adViewSize = getAdViewSize( adFormat );
+            final Activity currentActivity = getCurrentActivity();
+            pixelSize = new Point( AppLovinSdkUtils.dpToPx( currentActivity, adViewSize.widthDp ), AppLovinSdkUtils.dpToPx( currentActivity, adViewSize.heightDp ) );
+
+            adViewPixelSizes.put( adFormat, pixelSize );
         }
 
-        relativeLayout.setGravity( gravity );
+        return pixelSize;
     }
 
     // Utility Methods
@@ -1074,6 +2182,10 @@ public class AppLovinMAX
         return AppLovinSdkUtils.isTablet( context ) ? MaxAdFormat.LEADER : MaxAdFormat.BANNER;
     }
 
+    private static final AdViewSize LEADER_SIZE = new AdViewSize( 728, 90 );
+    private static final AdViewSize BANNER_SIZE = new AdViewSize( 320, 50 );
+    private static final AdViewSize MREC_SIZE   = new AdViewSize( 300, 250 );
+
     protected static class AdViewSize
     {
         public final int widthDp;
@@ -1090,15 +2202,15 @@ public class AppLovinMAX
     {
         if ( MaxAdFormat.LEADER == format )
         {
-            return new AdViewSize( 728, 90 );
+            return LEADER_SIZE;
         }
         else if ( MaxAdFormat.BANNER == format )
         {
-            return new AdViewSize( 320, 50 );
+            return BANNER_SIZE;
         }
         else if ( MaxAdFormat.MREC == format )
         {
-            return new AdViewSize( 300, 250 );
+            return MREC_SIZE;
         }
         else
         {
@@ -1106,9 +2218,10 @@ public class AppLovinMAX
         }
     }
 
-    private Map<String, String> getAdInfo(final MaxAd ad)
+    @VisibleForTesting
+    Map<String, Object> getAdInfo(final MaxAd ad)
     {
-        Map<String, String> adInfo = new HashMap<>( 6 );
+        Map<String, Object> adInfo = new HashMap<>( 6 );
         adInfo.put( "adUnitId", ad.getAdUnitId() );
         adInfo.put( "creativeId", !TextUtils.isEmpty( ad.getCreativeId() ) ? ad.getCreativeId() : "" );
         adInfo.put( "networkName", ad.getNetworkName() );
@@ -1119,265 +2232,472 @@ public class AppLovinMAX
         return adInfo;
     }
 
-    private static Point getOffsetPixels(final float xDp, final float yDp, final Context context)
+    // Flutter channel
+
+    /**
+     * Registers a handler for the given method name. Any previously registered handler for that method is replaced.
+     * <p>
+     * This may be used to extend the plugin with additional methods without modifying {@link #onMethodCall(AppLovinMAXPlugin, MethodCall, Result)}.
+     */
+    public void registerMethodHandler(@NonNull final String method, @NonNull final MethodCallHandler handler)
     {
-        return new Point( AppLovinSdkUtils.dpToPx( context, (int) xDp ), AppLovinSdkUtils.dpToPx( context, (int) yDp ) );
+        methodHandlers.put( method, handler );
     }
 
-    // Flutter channel
+    public void unregisterMethodHandler(@NonNull final String method)
+    {
+        methodHandlers.remove( method );
+    }
 
-    @Override
-    public void onMethodCall(@NonNull MethodCall call, @NonNull Result result)
+    private void registerMethodHandlers()
     {
-        if ( "initialize".equals( call.method ) )
-        {
+        registerMethodHandler( "initialize", (call, result) -> {
             String pluginVersion = call.argument( "plugin_version" );
             String sdkKey = call.argument( "sdk_key" );
             initialize( pluginVersion, sdkKey, result );
-        }
-        else if ( "isInitialized".equals( call.method ) )
-        {
-            isInitialized( result );
-        }
-        else if ( "isTablet".equals( call.method ) )
-        {
-            isTablet( result );
-        }
-        else if ( "showMediationDebugger".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "isInitialized", (call, result) -> isInitialized( result ) );
+        registerMethodHandler( "getInitializationTimings", (call, result) -> getInitializationTimings( result ) );
+        registerMethodHandler( "getPreInitializationQueueStats", (call, result) -> getPreInitializationQueueStats( result ) );
+        registerMethodHandler( "executeBatch", (call, result) -> {
+            List<Map<String, Object>> commands = call.argument( "commands" );
+            executeBatch( commands, result );
+        } );
+        registerMethodHandler( "isTablet", (call, result) -> isTablet( result ) );
+        registerMethodHandler( "showMediationDebugger", (call, result) -> {
             showMediationDebugger();
 
             result.success( null );
-        }
-        else if ( "getConsentDialogState".equals( call.method ) )
-        {
-            getConsentDialogState( result );
-        }
-        else if ( "setHasUserConsent".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "getConsentDialogState", (call, result) -> getConsentDialogState( result ) );
+        registerMethodHandler( "setHasUserConsent", (call, result) -> {
             boolean hasUserConsent = call.argument( "value" );
             setHasUserConsent( hasUserConsent );
 
             result.success( null );
-        }
-        else if ( "hasUserConsent".equals( call.method ) )
-        {
-            hasUserConsent( result );
-        }
-        else if ( "setIsAgeRestrictedUser".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "hasUserConsent", (call, result) -> hasUserConsent( result ) );
+        registerMethodHandler( "setIsAgeRestrictedUser", (call, result) -> {
             boolean isAgeRestrictedUser = call.argument( "value" );
             setIsAgeRestrictedUser( isAgeRestrictedUser );
 
             result.success( null );
-        }
-        else if ( "isAgeRestrictedUser".equals( call.method ) )
-        {
-            isAgeRestrictedUser( result );
-        }
-        else if ( "setDoNotSell".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "isAgeRestrictedUser", (call, result) -> isAgeRestrictedUser( result ) );
+        registerMethodHandler( "setDoNotSell", (call, result) -> {
             boolean isDoNotSell = call.argument( "value" );
             setDoNotSell( isDoNotSell );
 
             result.success( null );
-        }
-        else if ( "isDoNotSell".equals( call.method ) )
-        {
-            isDoNotSell( result );
-        }
-        else if ( "setUserId".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "isDoNotSell", (call, result) -> isDoNotSell( result ) );
+        registerMethodHandler( "setUserId", (call, result) -> {
             String userId = call.argument( "value" );
             setUserId( userId );
 
             result.success( null );
-        }
-        else if ( "setMuted".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "setMuted", (call, result) -> {
             boolean isMuted = call.argument( "value" );
             setMuted( isMuted );
 
             result.success( null );
-        }
-        else if ( "setVerboseLogging".equals( call.method ) )
-        {
-            boolean isVerboseLogging = call.argument( "value" );
-            setVerboseLogging( isVerboseLogging );
+        } );
+        registerMethodHandler( "setVerboseLogging", (call, result) -> {
+            boolean isVerboseLogging = call.argument( "value" );
+            setVerboseLogging( isVerboseLogging );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "setCreativeDebuggerEnabled", (call, result) -> {
+            boolean isCreativeDebuggerEnabled = call.argument( "value" );
+            setCreativeDebuggerEnabled( isCreativeDebuggerEnabled );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "setEventCoalescingEnabled", (call, result) -> {
+            boolean enabled = call.argument( "value" );
+            callingEngine.setEventCoalescingEnabled( enabled );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "setTracingEnabled", (call, result) -> {
+            boolean enabled = call.argument( "enabled" );
+            int capacity = call.argument( "capacity" );
+            double frameBudgetMillis = call.argument( "frame_budget_millis" );
+            setTracingEnabled( enabled, capacity, frameBudgetMillis );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getTrace", (call, result) -> getTrace( result ) );
+        registerMethodHandler( "dumpTrace", (call, result) -> {
+            String path = call.argument( "path" );
+            dumpTrace( path, result );
+        } );
+        registerMethodHandler( "setMaxPrewarmedAdUnits", (call, result) -> {
+            int maxAdUnits = call.argument( "value" );
+            setMaxPrewarmedAdUnits( maxAdUnits );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getAdUnitUsage", (call, result) -> getAdUnitUsage( result ) );
+        registerMethodHandler( "setRevenueJournalEnabled", (call, result) -> {
+            boolean enabled = call.argument( "value" );
+            setRevenueJournalEnabled( enabled );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "readRevenueJournal", (call, result) -> {
+            Number cursor = call.argument( "cursor" );
+            int maxRecords = call.argument( "max_records" );
+            readRevenueJournal( cursor.longValue(), maxRecords, result );
+        } );
+        registerMethodHandler( "acknowledgeRevenueJournal", (call, result) -> {
+            Number cursor = call.argument( "cursor" );
+            acknowledgeRevenueJournal( cursor.longValue(), result );
+        } );
+        registerMethodHandler( "setBinaryAdEventsEnabled", (call, result) -> {
+            boolean enabled = call.argument( "value" );
+            callingEngine.setBinaryAdEventsEnabled( enabled );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "setEventSubscriptions", (call, result) -> {
+            int subscribedEvents = call.argument( "value" );
+            callingEngine.setSubscribedEvents( subscribedEvents );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getEventSubscriptionStats", (call, result) -> getEventSubscriptionStats( result ) );
+        registerMethodHandler( "setMemoryTrimPolicy", (call, result) -> {
+            int minTrimLevel = call.argument( "min_trim_level" );
+            boolean releaseHiddenAdViews = call.argument( "release_hidden_ad_views" );
+            setMemoryTrimPolicy( minTrimLevel, releaseHiddenAdViews );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getMemoryTrimStats", (call, result) -> getMemoryTrimStats( result ) );
+        registerMethodHandler( "setAdStateUpdatesEnabled", (call, result) -> {
+            boolean enabled = call.argument( "value" );
+            callingEngine.setAdStateUpdatesEnabled( enabled );
 
             result.success( null );
-        }
-        else if ( "setTestDeviceAdvertisingIds".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "getAdStates", (call, result) -> getAdStates( result ) );
+        registerMethodHandler( "setLoadRetryPolicy", (call, result) -> {
+            int maxAttempts = call.argument( "max_attempts" );
+            Number initialDelayMillis = call.argument( "initial_delay_millis" );
+            Number maxDelayMillis = call.argument( "max_delay_millis" );
+            double jitter = call.argument( "jitter" );
+            setLoadRetryPolicy( maxAttempts, initialDelayMillis.longValue(), maxDelayMillis.longValue(), jitter );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getLoadRetryStats", (call, result) -> {
+            String adUnitId = call.argument( "ad_unit_id" );
+            getLoadRetryStats( adUnitId, result );
+        } );
+        registerMethodHandler( "setTestDeviceAdvertisingIds", (call, result) -> {
             List<String> testDeviceAdvertisingIds = call.argument( "value" );
             setTestDeviceAdvertisingIds( testDeviceAdvertisingIds );
 
             result.success( null );
-        }
-        else if ( "createBanner".equals( call.method ) )
-        {
+        } );
+
+        // Banners
+
+        registerMethodHandler( "createBanner", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String position = call.argument( "position" );
-            createBanner( adUnitId, position );
+            boolean newInstance = Boolean.TRUE.equals( call.argument( "new_instance" ) );
 
-            result.success( null );
-        }
-        else if ( "setBannerBackgroundColor".equals( call.method ) )
-        {
+            result.success( createBanner( adUnitId, position, newInstance ) );
+        } );
+        registerMethodHandler( "setBannerBackgroundColor", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String hexColorCode = call.argument( "hex_color_code" );
             setBannerBackgroundColor( adUnitId, hexColorCode );
 
             result.success( null );
-        }
-        else if ( "setBannerPlacement".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "setBannerPlacement", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String placement = call.argument( "placement" );
             setBannerPlacement( adUnitId, placement );
 
             result.success( null );
-        }
-        else if ( "updateBannerPosition".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "updateBannerPosition", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String position = call.argument( "position" );
             updateBannerPosition( adUnitId, position );
 
             result.success( null );
-        }
-        else if ( "setBannerExtraParameter".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "setBannerExtraParameter", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String key = call.argument( "key" );
             String value = call.argument( "value" );
             setBannerExtraParameter( adUnitId, key, value );
 
             result.success( null );
-        }
-        else if ( "showBanner".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "showBanner", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             showBanner( adUnitId );
 
             result.success( null );
-        }
-        else if ( "hideBanner".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "hideBanner", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             hideBanner( adUnitId );
 
             result.success( null );
-        }
-        else if ( "destroyBanner".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "destroyBanner", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             destroyBanner( adUnitId );
 
             result.success( null );
-        }
-        else if ( "createMRec".equals( call.method ) )
-        {
+        } );
+
+        // MRECs
+
+        registerMethodHandler( "createMRec", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String position = call.argument( "position" );
-            createMRec( adUnitId, position );
+            boolean newInstance = Boolean.TRUE.equals( call.argument( "new_instance" ) );
 
-            result.success( null );
-        }
-        else if ( "setMRecPlacement".equals( call.method ) )
-        {
+            result.success( createMRec( adUnitId, position, newInstance ) );
+        } );
+        registerMethodHandler( "setMRecPlacement", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String placement = call.argument( "placement" );
             setMRecPlacement( adUnitId, placement );
 
             result.success( null );
-        }
-        else if ( "updateMRecPosition".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "updateMRecPosition", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String position = call.argument( "position" );
             updateMRecPosition( adUnitId, position );
 
             result.success( null );
-        }
-        else if ( "showMRec".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "showMRec", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             showMRec( adUnitId );
 
             result.success( null );
-        }
-        else if ( "hideMRec".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "hideMRec", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             hideMRec( adUnitId );
 
             result.success( null );
-        }
-        else if ( "destroyMRec".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "destroyMRec", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             destroyMRec( adUnitId );
 
             result.success( null );
-        }
-        else if ( "loadInterstitial".equals( call.method ) )
-        {
+        } );
+
+        // Widget Ad Views
+
+        registerMethodHandler( "setAdViewPoolLimits", (call, result) -> {
+            int maxSize = call.argument( "max_size" );
+            Number maxIdleMillis = call.argument( "max_idle_millis" );
+            setAdViewPoolLimits( maxSize, maxIdleMillis.longValue() );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "preloadAdView", (call, result) -> {
+            String adUnitId = call.argument( "ad_unit_id" );
+            String adFormat = call.argument( "ad_format" );
+            String placement = call.argument( "placement" );
+            Number timeoutMillis = call.argument( "timeout_millis" );
+            preloadAdView( adUnitId, "mrec".equals( adFormat ) ? MaxAdFormat.MREC : getDeviceSpecificBannerAdViewAdFormat(), placement, timeoutMillis.longValue() );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getAdViewPoolStats", (call, result) -> getAdViewPoolStats( result ) );
+        registerMethodHandler( "getMetrics", (call, result) -> getMetrics( result ) );
+        registerMethodHandler( "setAdViewVisibilityThreshold", (call, result) -> {
+            double threshold = call.argument( "value" );
+            setAdViewVisibilityThreshold( (float) threshold );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getAdViewRefreshStats", (call, result) -> getAdViewRefreshStats( result ) );
+
+        // Interstitials
+
+        registerMethodHandler( "loadInterstitial", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
+            recordAdUnitUsage( adUnitId, MaxAdFormat.INTERSTITIAL, null );
             loadInterstitial( adUnitId );
 
             result.success( null );
-        }
-        else if ( "isInterstitialReady".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "isInterstitialReady", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             isInterstitialReady( adUnitId, result );
-        }
-        else if ( "showInterstitial".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "showInterstitial", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String placement = call.argument( "placement" );
             showInterstitial( adUnitId, placement );
 
             result.success( null );
-        }
-        else if ( "setInterstitialExtraParameter".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "setInterstitialExtraParameter", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String key = call.argument( "key" );
             String value = call.argument( "value" );
             setInterstitialExtraParameter( adUnitId, key, value );
 
             result.success( null );
-        }
-        else if ( "loadRewardedAd".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "setInterstitialPoolDepth", (call, result) -> {
+            String adUnitId = call.argument( "ad_unit_id" );
+            int depth = call.argument( "depth" );
+            setInterstitialPoolDepth( adUnitId, depth );
+
+            result.success( null );
+        } );
+
+        // Rewarded
+
+        registerMethodHandler( "loadRewardedAd", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
+            recordAdUnitUsage( adUnitId, MaxAdFormat.REWARDED, null );
             loadRewardedAd( adUnitId );
 
             result.success( null );
-        }
-        else if ( "isRewardedAdReady".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "isRewardedAdReady", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             isRewardedAdReady( adUnitId, result );
-        }
-        else if ( "showRewardedAd".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "showRewardedAd", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String placement = call.argument( "placement" );
             showRewardedAd( adUnitId, placement );
 
             result.success( null );
-        }
-        else if ( "setRewardedAdExtraParameter".equals( call.method ) )
-        {
+        } );
+        registerMethodHandler( "setRewardedAdExtraParameter", (call, result) -> {
             String adUnitId = call.argument( "ad_unit_id" );
             String key = call.argument( "key" );
             String value = call.argument( "value" );
             setRewardedAdExtraParameter( adUnitId, key, value );
 
             result.success( null );
+        } );
+        registerMethodHandler( "setRewardedAdPoolDepth", (call, result) -> {
+            String adUnitId = call.argument( "ad_unit_id" );
+            int depth = call.argument( "depth" );
+            setRewardedAdPoolDepth( adUnitId, depth );
+
+            result.success( null );
+        } );
+        registerMethodHandler( "getAdPoolStats", (call, result) -> {
+            String adUnitId = call.argument( "ad_unit_id" );
+            getAdPoolStats( adUnitId, result );
+        } );
+    }
+
+    private void registerBackgroundMethodHandlers()
+    {
+        backgroundMethodHandlers.put( "isInitialized", (call, result) -> isInitialized( result ) );
+        backgroundMethodHandlers.put( "isTablet", (call, result) -> isTablet( result ) );
+        backgroundMethodHandlers.put( "hasUserConsent", (call, result) -> hasUserConsent( result ) );
+        backgroundMethodHandlers.put( "isAgeRestrictedUser", (call, result) -> isAgeRestrictedUser( result ) );
+        backgroundMethodHandlers.put( "isDoNotSell", (call, result) -> isDoNotSell( result ) );
+    }
+
+    /**
+     * Handles a call on the background channel of an engine, on the background task queue of the channel. These calls are neither queued until the
+     * SDK is initialized nor traced, since both are confined to the main thread.
+     */
+    void onBackgroundMethodCall(final MethodCall call, final Result result)
+    {
+        final MethodCallHandler handler = backgroundMethodHandlers.get( call.method );
+        if ( handler != null )
+        {
+            handler.onMethodCall( call, result );
+        }
+        else
+        {
+            result.notImplemented();
+        }
+    }
+
+    void onMethodCall(@Nullable final AppLovinMAXPlugin engine, final MethodCall call, final Result result)
+    {
+        // Queued calls run while handling the call that initializes the SDK, which is restored afterwards
+        final AppLovinMAXPlugin previousCallingEngine = callingEngine;
+        callingEngine = engine;
+        try
+        {
+            traceMethodCall( call, result );
+        }
+        finally
+        {
+            callingEngine = previousCallingEngine;
+        }
+    }
+
+    /**
+     * Runs a call made before the SDK was initialized, as the engine that made it. Calls of engines that have been detached since are failed.
+     */
+    private void runQueuedCall(@Nullable final AppLovinMAXPlugin engine, final MethodCall call, final Result result)
+    {
+        if ( engine != null && !engines.contains( engine ) )
+        {
+            result.error( "ENGINE_DETACHED", "The engine that made the call has been detached", null );
+            return;
+        }
+
+        onMethodCall( engine, call, result );
+    }
+
+    private void traceMethodCall(final MethodCall call, final Result result)
+    {
+        final AppLovinMAXTracer tracer = this.tracer;
+        if ( tracer == null )
+        {
+            dispatchMethodCall( call, result );
+            return;
+        }
+
+        final long sequence = tracer.begin( AppLovinMAXTracer.TYPE_METHOD_CALL, call.method, call.arguments );
+        try
+        {
+            dispatchMethodCall( call, tracer.getResult( sequence, result ) );
+        }
+        finally
+        {
+            tracer.end( sequence );
+        }
+    }
+
+    private void dispatchMethodCall(final MethodCall call, final Result result)
+    {
+        final MethodCallHandler handler = methodHandlers.get( call.method );
+
+        // Hold on to calls that need the SDK until it is initialized, settings only need the SDK instance
+        if ( handler != null && !isSdkInitialized && !PRE_INITIALIZATION_METHODS.contains( call.method )
+                && !( sdk != null && SDK_SETTINGS_METHODS.contains( call.method ) ) )
+        {
+            preInitializationQueue.enqueue( call, result, callingEngine );
+            return;
+        }
+
+        if ( handler != null )
+        {
+            handler.onMethodCall( call, result );
         }
         else
         {
@@ -1385,50 +2705,241 @@ public class AppLovinMAX
         }
     }
 
-    public void fireCallback(final String name, final MaxAd ad, final MethodChannel channel)
+    private void fireAdEvent(final AppLovinMAXAdState state, final String name, final MaxAd ad)
+    {
+        fireAdEvent( state, name, ad, null, null, 0 );
+    }
+
+    /**
+     * Sends an ad event over the shared channel of the engine owning the ad, or of every engine if none does, either as a params map or, if enabled by
+     * the engine, in the compact binary layout of {@link AppLovinMAXAdEventCodec}.
+     * Events of ad views are tagged with the handle of the ad view instance.
+     *
+     * @param rewardLabel The reward label for reward events, or {@code null} for all other events.
+     */
+    private void fireAdEvent(final AppLovinMAXAdState state, final String name, @Nullable final MaxAd ad, @Nullable final MaxError error, @Nullable final String rewardLabel, final int rewardAmount)
+    {
+        final String adUnitId = state.adUnitId;
+        final String adViewId = state.isAdView() ? state.id : null;
+        final int tag = AppLovinMAXAdEventCodec.getTag( name );
+
+        Map<String, Object> params = null;
+        for ( AppLovinMAXPlugin engine : getEngines( state ) )
+        {
+            // Skip engines without a listener for the event before building or sending anything for them
+            if ( !engine.isSubscribed( tag ) )
+            {
+                suppressedAdEventCounts[tag]++;
+                continue;
+            }
+
+            // Events without a tag have no binary encoding and are always sent as params maps
+            if ( engine.isBinaryAdEventsEnabled() && tag >= 0 )
+            {
+                final AppLovinMAXAdEventCodec.Event event = pendingAdEvent;
+                event.tag = tag;
+                event.adUnitId = adUnitId;
+                event.adViewId = adViewId;
+                event.ad = ad;
+                if ( error != null )
+                {
+                    event.hasError = true;
+                    event.errorCode = error.getCode();
+                    event.errorMessage = error.getMessage();
+                }
+                if ( rewardLabel != null )
+                {
+                    event.hasReward = true;
+                    event.rewardAmount = rewardAmount;
+                    event.rewardLabel = rewardLabel;
+                }
+
+                // The codec encodes synchronously, so the holder can be reused for the next event
+                engine.sendAdEvent( event );
+                event.clear();
+
+                continue;
+            }
+
+            // Built once and shared by all engines receiving params maps
+            if ( params == null )
+            {
+                params = getAdEventParams( adUnitId, adViewId, ad, error, rewardLabel, rewardAmount );
+            }
+
+            fireCallback( name, params, engine );
+        }
+    }
+
+    private Map<String, Object> getAdEventParams(final String adUnitId, @Nullable final String adViewId, @Nullable final MaxAd ad, @Nullable final MaxError error, @Nullable final String rewardLabel, final int rewardAmount)
+    {
+        final Map<String, Object> params;
+        if ( ad != null )
+        {
+            params = getAdInfo( ad );
+        }
+        else
+        {
+            params = new HashMap<>( 4 );
+            params.put( "adUnitId", adUnitId );
+        }
+
+        if ( adViewId != null )
+        {
+            params.put( "adViewId", adViewId );
+        }
+
+        if ( error != null )
+        {
+            params.put( "errorCode", error.getCode() );
+            params.put( "errorMessage", error.getMessage() );
+        }
+
+        if ( rewardLabel != null )
+        {
+            params.put( "rewardLabel", rewardLabel );
+            params.put( "rewardAmount", Integer.toString( rewardAmount ) );
+        }
+
+        return params;
+    }
+
+    public void fireCallback(final String name, final Map<String, ?> params)
     {
-        fireCallback( name, getAdInfo( ad ), channel );
+        for ( AppLovinMAXPlugin engine : engines )
+        {
+            fireCallback( name, params, engine );
+        }
     }
 
-    public void fireCallback(final String name, final Map<String, String> params)
+    private void fireCallback(final String name, final Map<String, ?> params, final AppLovinMAXPlugin engine)
     {
-        fireCallback( name, params, sharedChannel );
+        final AppLovinMAXTracer tracer = this.tracer;
+        final long sequence = ( tracer != null ) ? tracer.begin( AppLovinMAXTracer.TYPE_CALLBACK, name, params ) : -1;
+
+        engine.sendEvent( name, params );
+
+        if ( tracer != null ) tracer.end( sequence );
     }
 
-    public void fireCallback(final String name, final Map<String, String> params, final MethodChannel channel)
+    public void fireCallback(final String name, final Map<String, ?> params, final MethodChannel channel)
     {
+        final AppLovinMAXTracer tracer = this.tracer;
+        final long sequence = ( tracer != null ) ? tracer.begin( AppLovinMAXTracer.TYPE_CALLBACK, name, params ) : -1;
+
         channel.invokeMethod( name, params );
+
+        if ( tracer != null ) tracer.end( sequence );
+    }
+
+    // Component Callbacks
+
+    @Override
+    public void onConfigurationChanged(@NonNull final Configuration newConfig)
+    {
+        if ( adViewPixelSizes.isEmpty() ) return;
+
+        // The density may have changed, so size the ad views again
+        adViewPixelSizes.clear();
+
+        for ( AppLovinMAXAdState state : adStates.values() )
+        {
+            // Prewarmed ad views are not on screen yet
+            if ( state.adView == null || state.isPrewarmed ) continue;
+
+            positionAdView( state );
+        }
+    }
+
+    @Override
+    public void onLowMemory()
+    {
+        trimMemory( TRIM_MEMORY_COMPLETE );
+    }
+
+    @Override
+    public void onTrimMemory(final int level)
+    {
+        trimMemory( level );
+    }
+
+    // Deprecated Plugin Entry Point - only instances created by the deprecated constructor are registered with an engine
+
+    @Override
+    public void onAttachedToEngine(@NonNull final FlutterPluginBinding binding)
+    {
+        if ( delegatePlugin != null ) delegatePlugin.onAttachedToEngine( binding );
     }
 
-    // Activity Lifecycle Listener
+    @Override
+    public void onDetachedFromEngine(@NonNull final FlutterPluginBinding binding)
+    {
+        if ( delegatePlugin != null ) delegatePlugin.onDetachedFromEngine( binding );
+    }
 
     @Override
     public void onAttachedToActivity(@NonNull final ActivityPluginBinding binding)
     {
-        // KNOWN ISSUE: onAttachedToEngine will be call twice, which may be caused by using
-        // firebase_messaging plugin. See https://github.com/flutter/flutter/issues/97840
-        // Once the issue is resolved, we can check if we can move following one lines to onAttachedToEngine.
-        instance = this;
-        lastActivityPluginBinding = binding;
+        if ( delegatePlugin != null ) delegatePlugin.onAttachedToActivity( binding );
     }
 
     @Override
-    public void onDetachedFromActivityForConfigChanges() { }
+    public void onDetachedFromActivityForConfigChanges()
+    {
+        if ( delegatePlugin != null ) delegatePlugin.onDetachedFromActivityForConfigChanges();
+    }
 
     @Override
     public void onReattachedToActivityForConfigChanges(@NonNull final ActivityPluginBinding binding)
     {
-        // KNOWN ISSUE: onAttachedToEngine will be call twice, which may be caused by using
-        // firebase_messaging plugin. See https://github.com/flutter/flutter/issues/97840
-        // Once the issue is resolved, we can check if we can move following one lines to onAttachedToEngine.
-        instance = this;
+        if ( delegatePlugin != null ) delegatePlugin.onReattachedToActivityForConfigChanges( binding );
     }
 
     @Override
-    public void onDetachedFromActivity() { }
+    public void onDetachedFromActivity()
+    {
+        if ( delegatePlugin != null ) delegatePlugin.onDetachedFromActivity();
+    }
+
+    /**
+     * Makes the calling engine the owner of the ad, if the ad is used from a method call rather than e.g. a retry.
+     */
+    private void claimAd(final AppLovinMAXAdState state)
+    {
+        if ( callingEngine != null ) state.ownerEngine = callingEngine;
+    }
+
+    /**
+     * @return The engine owning the ad if it is still attached, otherwise all engines.
+     */
+    private List<AppLovinMAXPlugin> getEngines(final AppLovinMAXAdState state)
+    {
+        final AppLovinMAXPlugin ownerEngine = state.ownerEngine;
+        return ( ownerEngine != null && engines.contains( ownerEngine ) ) ? Collections.singletonList( ownerEngine ) : engines;
+    }
+
+    /**
+     * @return The activity of the engine owning the ad, falling back to the current activity.
+     */
+    @Nullable
+    private Activity getActivity(final AppLovinMAXAdState state)
+    {
+        final AppLovinMAXPlugin ownerEngine = state.ownerEngine;
+        final Activity activity = ( ownerEngine != null ) ? ownerEngine.getActivity() : null;
+
+        return ( activity != null ) ? activity : getCurrentActivity();
+    }
 
+    @Nullable
     private Activity getCurrentActivity()
     {
-        return ( lastActivityPluginBinding != null ) ? lastActivityPluginBinding.getActivity() : null;
+        // Prefer the engine whose activity attached last
+        for ( int i = engines.size() - 1; i >= 0; i-- )
+        {
+            final Activity activity = engines.get( i ).getActivity();
+            if ( activity != null ) return activity;
+        }
+
+        return null;
     }
 }
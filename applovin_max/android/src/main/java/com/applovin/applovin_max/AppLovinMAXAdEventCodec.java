@@ -0,0 +1,252 @@
+package com.applovin.applovin_max;
+
+import com.applovin.mediation.MaxAd;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MessageCodec;
+
+/**
+ * Encodes ad events into a fixed little-endian layout, mirrored by {@code AdEventCodec} on the Dart side:
+ * <pre>
+ * u8  event tag (index into {@link #EVENT_NAMES})
+ * u8  flags (FLAG_AD | FLAG_ERROR | FLAG_REWARD | FLAG_AD_VIEW_ID)
+ * str ad unit id (interned)
+ * [FLAG_AD_VIEW_ID] str ad view instance handle (interned)
+ * [FLAG_AD]         str network name (interned), str placement (interned), str dsp name (interned), str creative id, f64 revenue
+ * [FLAG_ERROR]      i32 error code, str error message
+ * [FLAG_REWARD]     i32 reward amount, str reward label (interned)
+ * </pre>
+ * A plain string is an i32 UTF-8 byte length ({@link Integer#MIN_VALUE} for null) followed by its bytes. An interned string is an i32 id; a negative
+ * value -(id + 1) introduces a new id and is followed by the plain string, so each distinct value is only sent once per session.
+ * <p>
+ * Messages from Dart are a single control byte, see {@link #CONTROL_RESET}.
+ * <p>
+ * Must only be used from the main thread.
+ */
+class AppLovinMAXAdEventCodec
+        implements MessageCodec<Object>
+{
+    // NOTE: Names and order must match the Dart side, and the names must match the events sent as params maps
+    static final String[] EVENT_NAMES = {
+            "OnBannerAdLoadedEvent",
+            "OnBannerAdLoadFailedEvent",
+            "OnBannerAdClickedEvent",
+            "OnBannerAdExpandedEvent",
+            "OnBannerAdCollapsedEvent",
+            "OnMRecAdLoadedEvent",
+            "OnMRecAdLoadFailedEvent",
+            "OnMRecAdClickedEvent",
+            "OnMRecAdExpandedEvent",
+            "OnMRecAdCollapsedEvent",
+            "OnInterstitialLoadedEvent",
+            "OnInterstitialLoadFailedEvent",
+            "OnInterstitialClickedEvent",
+            "OnInterstitialDisplayedEvent",
+            "OnInterstitialAdFailedToDisplayEvent",
+            "OnInterstitialHiddenEvent",
+            "OnRewardedAdLoadedEvent",
+            "OnRewardedAdLoadFailedEvent",
+            "OnRewardedAdClickedEvent",
+            "OnRewardedAdDisplayedEvent",
+            "OnRewardedAdFailedToDisplayEvent",
+            "OnRewardedAdHiddenEvent",
+            "OnRewardedAdReceivedRewardEvent"
+    };
+
+    static final byte CONTROL_RESET = 1;
+
+    private static final int FLAG_AD         = 1;
+    private static final int FLAG_ERROR      = 1 << 1;
+    private static final int FLAG_REWARD     = 1 << 2;
+    private static final int FLAG_AD_VIEW_ID = 1 << 3;
+
+    private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+    private static final Map<String, Integer> EVENT_TAGS = new HashMap<>( EVENT_NAMES.length * 2 );
+
+    static
+    {
+        for ( int i = 0; i < EVENT_NAMES.length; i++ )
+        {
+            EVENT_TAGS.put( EVENT_NAMES[i], i );
+        }
+    }
+
+    /**
+     * Reusable holder for the event being encoded, so sending an event does not allocate a params map.
+     */
+    static class Event
+    {
+        int     tag;
+        String  adUnitId;
+        @Nullable
+        String  adViewId;
+        @Nullable
+        MaxAd   ad;
+        boolean hasError;
+        int     errorCode;
+        String  errorMessage;
+        boolean hasReward;
+        int     rewardAmount;
+        String  rewardLabel;
+
+        void clear()
+        {
+            adUnitId = null;
+            adViewId = null;
+            ad = null;
+            hasError = false;
+            errorMessage = null;
+            hasReward = false;
+            rewardLabel = null;
+        }
+    }
+
+    private final Map<String, Integer> internedIds = new HashMap<>( 16 );
+
+    private ByteBuffer scratch = ByteBuffer.allocate( 512 ).order( ByteOrder.LITTLE_ENDIAN );
+
+    /**
+     * @return The tag of the event, or -1 if the event has no binary encoding and must be sent as a params map.
+     */
+    static int getTag(final String eventName)
+    {
+        final Integer tag = EVENT_TAGS.get( eventName );
+        return ( tag != null ) ? tag : -1;
+    }
+
+    /**
+     * Forgets all interned strings. Called when the Dart side (re)creates its decoder.
+     */
+    void reset()
+    {
+        internedIds.clear();
+    }
+
+    @Override
+    public ByteBuffer encodeMessage(@Nullable final Object message)
+    {
+        if ( !( message instanceof Event ) ) return null;
+
+        final Event event = (Event) message;
+        if ( event.tag < 0 || event.tag >= EVENT_NAMES.length )
+        {
+            throw new IllegalArgumentException( "Unknown ad event tag: " + event.tag );
+        }
+
+        scratch.clear();
+
+        int flags = 0;
+        if ( event.ad != null ) flags |= FLAG_AD;
+        if ( event.hasError ) flags |= FLAG_ERROR;
+        if ( event.hasReward ) flags |= FLAG_REWARD;
+        if ( event.adViewId != null ) flags |= FLAG_AD_VIEW_ID;
+
+        ensureCapacity( 2 );
+        scratch.put( (byte) event.tag );
+        scratch.put( (byte) flags );
+        putInternedString( event.adUnitId );
+
+        if ( event.adViewId != null )
+        {
+            putInternedString( event.adViewId );
+        }
+
+        if ( event.ad != null )
+        {
+            final MaxAd ad = event.ad;
+            putInternedString( ad.getNetworkName() );
+            putInternedString( ad.getPlacement() );
+            putInternedString( ad.getDspName() );
+            putString( ad.getCreativeId() );
+            ensureCapacity( 8 );
+            scratch.putDouble( ad.getRevenue() );
+        }
+
+        if ( event.hasError )
+        {
+            ensureCapacity( 4 );
+            scratch.putInt( event.errorCode );
+            putString( event.errorMessage );
+        }
+
+        if ( event.hasReward )
+        {
+            ensureCapacity( 4 );
+            scratch.putInt( event.rewardAmount );
+            putInternedString( event.rewardLabel );
+        }
+
+        // The messenger requires a direct buffer which it may hold on to, so copy the exact encoded bytes out of the scratch buffer
+        scratch.flip();
+        final ByteBuffer encoded = ByteBuffer.allocateDirect( scratch.remaining() );
+        encoded.put( scratch );
+
+        return encoded;
+    }
+
+    @Override
+    public Object decodeMessage(@Nullable final ByteBuffer message)
+    {
+        if ( message == null || !message.hasRemaining() ) return null;
+
+        return message.get( message.position() );
+    }
+
+    private void putInternedString(@Nullable final String value)
+    {
+        // Treat empty strings as null - the map based events send "" for missing values and the Dart side restores that
+        if ( value == null || value.isEmpty() )
+        {
+            putString( null );
+            return;
+        }
+
+        final Integer id = internedIds.get( value );
+        if ( id != null )
+        {
+            ensureCapacity( 4 );
+            scratch.putInt( id );
+            return;
+        }
+
+        final int newId = internedIds.size();
+        internedIds.put( value, newId );
+
+        ensureCapacity( 4 );
+        scratch.putInt( -( newId + 1 ) );
+        putString( value );
+    }
+
+    private void putString(@Nullable final String value)
+    {
+        if ( value == null )
+        {
+            // Inline null marker; interned ids are never Integer.MIN_VALUE
+            ensureCapacity( 4 );
+            scratch.putInt( Integer.MIN_VALUE );
+            return;
+        }
+
+        final byte[] bytes = value.getBytes( UTF_8 );
+        ensureCapacity( 4 + bytes.length );
+        scratch.putInt( bytes.length );
+        scratch.put( bytes );
+    }
+
+    private void ensureCapacity(final int additionalBytes)
+    {
+        if ( scratch.remaining() >= additionalBytes ) return;
+
+        final ByteBuffer grown = ByteBuffer.allocate( Math.max( scratch.capacity() * 2, scratch.position() + additionalBytes ) ).order( ByteOrder.LITTLE_ENDIAN );
+        scratch.flip();
+        grown.put( scratch );
+        scratch = grown;
+    }
+}
@@ -0,0 +1,168 @@
+package com.applovin.applovin_max;
+
+import com.applovin.mediation.MaxAd;
+import com.applovin.mediation.MaxAdFormat;
+import com.applovin.mediation.ads.MaxAdView;
+import com.applovin.mediation.ads.MaxInterstitialAd;
+import com.applovin.mediation.ads.MaxRewardedAd;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Everything the plugin tracks for one ad unit id, so that a method call or SDK callback resolves it with a single lookup.
+ * <p>
+ * States are keyed by {@link #id}, which is the ad unit id except for additional ad view instances created for an ad unit id that already has one.
+ * <p>
+ * The event names of the ad format are resolved once when the state is created. Must only be used from the main thread.
+ */
+class AppLovinMAXAdState
+{
+    enum LoadState
+    {
+        IDLE( "idle" ),
+        LOADING( "loading" ),
+        LOADED( "loaded" ),
+        FAILED( "failed" );
+
+        // As reported to Dart
+        final String label;
+
+        LoadState(final String label)
+        {
+            this.label = label;
+        }
+    }
+
+    // The ad unit id, or the instance handle of an additional ad view of the ad unit
+    final String id;
+    final String adUnitId;
+
+    // May change between banner and leader for ad views forced to banners, which does not change the event names
+    MaxAdFormat adFormat;
+
+    final String loadedEventName;
+    final String loadFailedEventName;
+    final String clickedEventName;
+
+    // Fullscreen ads only
+    @Nullable
+    final String displayedEventName;
+    @Nullable
+    final String displayFailedEventName;
+    @Nullable
+    final String hiddenEventName;
+
+    // Ad views only
+    @Nullable
+    final String expandedEventName;
+    @Nullable
+    final String collapsedEventName;
+
+    @Nullable
+    MaxInterstitialAd           interstitial;
+    @Nullable
+    MaxRewardedAd               rewardedAd;
+    // Takes over from the single interstitial or rewarded ad once pub configures a pool depth
+    @Nullable
+    AppLovinMAXFullscreenAdPool pool;
+    // From displayed until hidden or failed to display
+    boolean                     isShowing;
+    // Reapplied when an interstitial or rewarded ad released under memory pressure is created again
+    @Nullable
+    Map<String, String>         extraParameters;
+
+    @Nullable
+    MaxAdView                 adView;
+    @Nullable
+    AppLovinMAXAdViewPosition adViewPosition;
+    @Nullable
+    String                    placement;
+    boolean                   isVisible;
+    // Pub requested to show the ad view before creating it
+    boolean                   isShowPending;
+    // While auto-refresh runs, the SDK retries failed loads of the ad view itself
+    boolean                   isAutoRefreshStopped;
+
+    LoadState loadState = LoadState.IDLE;
+    // Of the last change pushed to Dart
+    long      sequence;
+
+    // The engine that last loaded, created or showed the ad, which its events are sent to and whose activity it uses
+    @Nullable
+    AppLovinMAXPlugin ownerEngine;
+
+    // Loaded at initialization from the last session's usage, until pub loads or creates the ad unit
+    boolean isPrewarmed;
+    @Nullable
+    MaxAd   prewarmedAd;
+
+    AppLovinMAXAdState(final String id, final String adUnitId, final MaxAdFormat adFormat)
+    {
+        this.id = id;
+        this.adUnitId = adUnitId;
+        this.adFormat = adFormat;
+
+        if ( MaxAdFormat.INTERSTITIAL == adFormat )
+        {
+            loadedEventName = "OnInterstitialLoadedEvent";
+            loadFailedEventName = "OnInterstitialLoadFailedEvent";
+            clickedEventName = "OnInterstitialClickedEvent";
+            displayedEventName = "OnInterstitialDisplayedEvent";
+            displayFailedEventName = "OnInterstitialAdFailedToDisplayEvent";
+            hiddenEventName = "OnInterstitialHiddenEvent";
+            expandedEventName = null;
+            collapsedEventName = null;
+        }
+        else if ( MaxAdFormat.REWARDED == adFormat )
+        {
+            loadedEventName = "OnRewardedAdLoadedEvent";
+            loadFailedEventName = "OnRewardedAdLoadFailedEvent";
+            clickedEventName = "OnRewardedAdClickedEvent";
+            displayedEventName = "OnRewardedAdDisplayedEvent";
+            displayFailedEventName = "OnRewardedAdFailedToDisplayEvent";
+            hiddenEventName = "OnRewardedAdHiddenEvent";
+            expandedEventName = null;
+            collapsedEventName = null;
+        }
+        else if ( MaxAdFormat.MREC == adFormat )
+        {
+            loadedEventName = "OnMRecAdLoadedEvent";
+            loadFailedEventName = "OnMRecAdLoadFailedEvent";
+            clickedEventName = "OnMRecAdClickedEvent";
+            displayedEventName = null;
+            displayFailedEventName = null;
+            hiddenEventName = null;
+            expandedEventName = "OnMRecAdExpandedEvent";
+            collapsedEventName = "OnMRecAdCollapsedEvent";
+        }
+        else // BANNER, LEADER
+        {
+            loadedEventName = "OnBannerAdLoadedEvent";
+            loadFailedEventName = "OnBannerAdLoadFailedEvent";
+            clickedEventName = "OnBannerAdClickedEvent";
+            displayedEventName = null;
+            displayFailedEventName = null;
+            hiddenEventName = null;
+            expandedEventName = "OnBannerAdExpandedEvent";
+            collapsedEventName = "OnBannerAdCollapsedEvent";
+        }
+    }
+
+    boolean isAdView()
+    {
+        return expandedEventName != null;
+    }
+
+    void putExtraParameter(final String key, final String value)
+    {
+        if ( extraParameters == null )
+        {
+            extraParameters = new HashMap<>( 2 );
+        }
+
+        extraParameters.put( key, value );
+    }
+}
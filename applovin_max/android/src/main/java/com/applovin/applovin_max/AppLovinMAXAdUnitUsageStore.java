@@ -0,0 +1,170 @@
+package com.applovin.applovin_max;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.applovin.mediation.MaxAdFormat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Remembers which ad units pub loaded or created in the last session, and how often, so that they can be prewarmed on the next launch.
+ * <p>
+ * Usage of the previous session is read once when the store is created, which hits the disk and should happen off the main thread. The first usage
+ * recorded in this session replaces it. Must otherwise only be used from the main thread.
+ */
+class AppLovinMAXAdUnitUsageStore
+{
+    private static final String PREFERENCES_NAME = "com.applovin.applovin_max.ad_unit_usage";
+    private static final String KEY_AD_UNIT_IDS  = "ad_unit_ids";
+
+    private static final String FORMAT_INTERSTITIAL = "interstitial";
+    private static final String FORMAT_REWARDED     = "rewarded";
+    private static final String FORMAT_BANNER       = "banner";
+    private static final String FORMAT_LEADER       = "leader";
+    private static final String FORMAT_MREC         = "mrec";
+
+    static class AdUnitUsage
+    {
+        final String      adUnitId;
+        final MaxAdFormat adFormat;
+        @Nullable
+        final String      adViewPosition;
+        final int         count;
+
+        private AdUnitUsage(final String adUnitId, final MaxAdFormat adFormat, @Nullable final String adViewPosition, final int count)
+        {
+            this.adUnitId = adUnitId;
+            this.adFormat = adFormat;
+            this.adViewPosition = adViewPosition;
+            this.count = count;
+        }
+
+        private Map<String, Object> toMap()
+        {
+            final Map<String, Object> usage = new HashMap<>( 4 );
+            usage.put( "adUnitId", adUnitId );
+            usage.put( "adFormat", adFormat.getLabel() );
+            usage.put( "adViewPosition", adViewPosition );
+            usage.put( "count", count );
+
+            return usage;
+        }
+    }
+
+    private final SharedPreferences preferences;
+
+    // Most used first
+    private final List<AdUnitUsage> lastSessionUsages;
+
+    // Ad unit id -> number of loads or creations in this session
+    private final Map<String, Integer> counts = new HashMap<>( 4 );
+
+    AppLovinMAXAdUnitUsageStore(final Context context)
+    {
+        preferences = context.getSharedPreferences( PREFERENCES_NAME, Context.MODE_PRIVATE );
+        lastSessionUsages = readUsages();
+    }
+
+    /**
+     * @param adViewPosition The position of the ad view, or {@code null} for fullscreen ads.
+     */
+    void record(final String adUnitId, final MaxAdFormat adFormat, @Nullable final String adViewPosition)
+    {
+        final String format = getFormat( adFormat );
+        if ( format == null ) return;
+
+        final SharedPreferences.Editor editor = preferences.edit();
+
+        // Replace the last session's usage on the first use of this session
+        if ( counts.isEmpty() )
+        {
+            editor.clear();
+        }
+
+        final Integer previousCount = counts.get( adUnitId );
+        final int count = ( previousCount != null ? previousCount : 0 ) + 1;
+        counts.put( adUnitId, count );
+
+        editor.putStringSet( KEY_AD_UNIT_IDS, new HashSet<>( counts.keySet() ) )
+                .putString( "format_" + adUnitId, format )
+                .putInt( "count_" + adUnitId, count );
+
+        if ( adViewPosition != null )
+        {
+            editor.putString( "position_" + adUnitId, adViewPosition );
+        }
+
+        editor.apply();
+    }
+
+    /**
+     * @return The ad units used in the last session, most used first.
+     */
+    List<AdUnitUsage> getLastSessionUsages()
+    {
+        return lastSessionUsages;
+    }
+
+    Map<String, Object> getStats()
+    {
+        final List<Map<String, Object>> lastSession = new ArrayList<>( lastSessionUsages.size() );
+        for ( AdUnitUsage usage : lastSessionUsages )
+        {
+            lastSession.add( usage.toMap() );
+        }
+
+        final Map<String, Object> stats = new HashMap<>( 2 );
+        stats.put( "lastSession", lastSession );
+        stats.put( "currentSession", new HashMap<>( counts ) );
+
+        return stats;
+    }
+
+    private List<AdUnitUsage> readUsages()
+    {
+        final List<AdUnitUsage> usages = new ArrayList<>();
+        for ( String adUnitId : preferences.getStringSet( KEY_AD_UNIT_IDS, Collections.emptySet() ) )
+        {
+            final MaxAdFormat adFormat = getAdFormat( preferences.getString( "format_" + adUnitId, null ) );
+            if ( adFormat == null ) continue;
+
+            usages.add( new AdUnitUsage( adUnitId, adFormat, preferences.getString( "position_" + adUnitId, null ), preferences.getInt( "count_" + adUnitId, 0 ) ) );
+        }
+
+        Collections.sort( usages, (usage1, usage2) -> usage2.count - usage1.count );
+
+        return usages;
+    }
+
+    @Nullable
+    private static String getFormat(final MaxAdFormat adFormat)
+    {
+        if ( MaxAdFormat.INTERSTITIAL == adFormat ) return FORMAT_INTERSTITIAL;
+        if ( MaxAdFormat.REWARDED == adFormat ) return FORMAT_REWARDED;
+        if ( MaxAdFormat.BANNER == adFormat ) return FORMAT_BANNER;
+        if ( MaxAdFormat.LEADER == adFormat ) return FORMAT_LEADER;
+        if ( MaxAdFormat.MREC == adFormat ) return FORMAT_MREC;
+
+        return null;
+    }
+
+    @Nullable
+    private static MaxAdFormat getAdFormat(@Nullable final String format)
+    {
+        if ( FORMAT_INTERSTITIAL.equals( format ) ) return MaxAdFormat.INTERSTITIAL;
+        if ( FORMAT_REWARDED.equals( format ) ) return MaxAdFormat.REWARDED;
+        if ( FORMAT_BANNER.equals( format ) ) return MaxAdFormat.BANNER;
+        if ( FORMAT_LEADER.equals( format ) ) return MaxAdFormat.LEADER;
+        if ( FORMAT_MREC.equals( format ) ) return MaxAdFormat.MREC;
+
+        return null;
+    }
+}
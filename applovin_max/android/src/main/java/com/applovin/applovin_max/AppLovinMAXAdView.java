@@ -1,6 +1,7 @@
 package com.applovin.applovin_max;
 
 import android.content.Context;
+import android.os.SystemClock;
 import android.view.View;
 
 import com.applovin.mediation.MaxAd;
@@ -15,31 +16,100 @@ import java.util.Map;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import io.flutter.plugin.common.BinaryMessenger;
-import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.platform.PlatformView;
 
 /**
  * Created by Thomas So on July 17 2022
  */
 public class AppLovinMAXAdView
-        implements PlatformView, MaxAdViewAdListener
+        implements PlatformView, MaxAdViewAdListener, View.OnAttachStateChangeListener
 {
-    private final MethodChannel channel;
-    private final MaxAdView     adView;
+    private final int                      viewId;
+    private final AppLovinMAXAdViewChannel channel;
+    private final MaxAdView                adView;
+    private final MaxAdFormat              adFormat;
+    private final AppLovinMAXAdViewPool    adViewPool;
+    private final String                   adViewPoolKey;
+
+    // The last ad loaded into the ad view, replayed to Dart if the ad view was reused from the pool
+    @Nullable
+    private MaxAd lastLoadedAd;
+
+    // Auto-refresh is paused while the ad view is detached or not sufficiently visible on screen. The platform view is composited by Flutter, so
+    // scrolling within Flutter neither moves the native view nor notifies it, and the visible fraction is reported by the Dart widget instead.
+    private boolean isAttached;
+    private float   visibleFraction = 1;
+    private boolean isRefreshPaused;
+    private long    refreshPausedAtMillis;
 
-    public AppLovinMAXAdView(final int viewId, final String adUnitId, final MaxAdFormat adFormat, @Nullable final String placement, @Nullable final String customData, final BinaryMessenger messenger, final AppLovinSdk sdk, final Context context)
+    public AppLovinMAXAdView(final int viewId, final String adUnitId, final MaxAdFormat adFormat, @Nullable final String placement, @Nullable final String customData, final AppLovinMAXAdViewChannel channel, final AppLovinSdk sdk, final AppLovinMAXAdViewPool adViewPool, final Context context)
     {
-        String uniqueChannelName = "applovin_max/adview_" + viewId;
-        channel = new MethodChannel( messenger, uniqueChannelName );
+        this.viewId = viewId;
+        this.channel = channel;
+
+        this.adFormat = adFormat;
+        this.adViewPool = adViewPool;
+        adViewPoolKey = AppLovinMAXAdViewPool.getKey( adUnitId, adFormat, placement );
+
+        AppLovinMAXAdViewPool.Entry pooledAdView = adViewPool.acquire( adViewPoolKey );
+        if ( pooledAdView != null )
+        {
+            AppLovinMAX.d( "Reusing pooled MaxAdView widget with Ad Unit ID: " + adUnitId );
+
+            adView = pooledAdView.adView;
+            adView.setListener( this );
+            adView.setCustomData( customData );
+            adView.startAutoRefresh();
+
+            lastLoadedAd = pooledAdView.lastLoadedAd;
+        }
+        else
+        {
+            adView = new MaxAdView( adUnitId, adFormat, sdk, context );
+            adView.setListener( this );
+            adView.setRevenueListener( AppLovinMAX.getInstance() );
+
+            adView.setPlacement( placement );
+            adView.setCustomData( customData );
+
+            AppLovinMAX.getInstance().getLoadMetrics().onLoadStarted( adUnitId, adFormat );
+            adView.loadAd();
+        }
+
+        adView.addOnAttachStateChangeListener( this );
+
+        channel.register( viewId, this );
+    }
 
-        adView = new MaxAdView( adUnitId, adFormat, sdk, context );
-        adView.setListener( this );
+    /**
+     * Handles a call from Dart routed to this widget by {@link AppLovinMAXAdViewChannel}.
+     */
+    void onMethodCall(final MethodCall call, final Result result)
+    {
+        // Dart notifies us once it is listening for the widget's events, at which point the already loaded ad of a reused ad view can be reported
+        if ( "ready".equals( call.method ) )
+        {
+            if ( lastLoadedAd != null )
+            {
+                sendEvent( "OnAdViewAdLoadedEvent", lastLoadedAd );
+            }
 
-        adView.setPlacement( placement );
-        adView.setCustomData( customData );
+            result.success( null );
+        }
+        else if ( "setVisibleFraction".equals( call.method ) )
+        {
+            Number fraction = call.argument( "value" );
+            visibleFraction = fraction.floatValue();
+            updateRefreshState();
 
-        adView.loadAd();
+            result.success( null );
+        }
+        else
+        {
+            result.notImplemented();
+        }
     }
 
     @Nullable
@@ -58,27 +128,94 @@ public class AppLovinMAXAdView
     @Override
     public void dispose()
     {
+        channel.unregister( viewId );
+
         if ( adView != null )
         {
+            adView.removeOnAttachStateChangeListener( this );
+            resumeRefreshIfPaused( false );
+
+            if ( adViewPool.park( adViewPoolKey, adView, lastLoadedAd ) ) return;
+
             adView.destroy();
             adView.setListener( null );
         }
     }
 
+    // Visibility Tracking
+
+    @Override
+    public void onViewAttachedToWindow(final View view)
+    {
+        isAttached = true;
+        updateRefreshState();
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(final View view)
+    {
+        isAttached = false;
+        updateRefreshState();
+    }
+
+    private void updateRefreshState()
+    {
+        if ( isSufficientlyVisible() )
+        {
+            resumeRefreshIfPaused( true );
+        }
+        else
+        {
+            pauseRefresh();
+        }
+    }
+
+    private boolean isSufficientlyVisible()
+    {
+        return isAttached && visibleFraction >= AppLovinMAX.getInstance().getAdViewVisibilityThreshold();
+    }
+
+    private void pauseRefresh()
+    {
+        if ( isRefreshPaused ) return;
+
+        isRefreshPaused = true;
+        refreshPausedAtMillis = SystemClock.elapsedRealtime();
+        adView.stopAutoRefresh();
+    }
+
+    private void resumeRefreshIfPaused(final boolean startAutoRefresh)
+    {
+        if ( !isRefreshPaused ) return;
+
+        isRefreshPaused = false;
+        AppLovinMAX.getInstance().onAdViewRefreshResumed( SystemClock.elapsedRealtime() - refreshPausedAtMillis );
+
+        if ( startAutoRefresh ) adView.startAutoRefresh();
+    }
+
+    // Ad Callbacks
+
     @Override
     public void onAdLoaded(final MaxAd ad)
     {
+        lastLoadedAd = ad;
+        AppLovinMAX.getInstance().getLoadMetrics().onLoadSucceeded( ad.getAdUnitId(), adFormat );
+
         sendEvent( "OnAdViewAdLoadedEvent", ad );
     }
 
     @Override
     public void onAdLoadFailed(final String adUnitId, final MaxError error)
     {
-        Map<String, String> params = new HashMap<String, String>( 2 );
+        AppLovinMAX.getInstance().getLoadMetrics().onLoadFailed( adUnitId, adFormat );
+
+        Map<String, Object> params = new HashMap<>( 3 );
         params.put( "adUnitId", adUnitId );
-        params.put( "errorCode", String.valueOf( error.getCode() ) );
+        params.put( "errorCode", error.getCode() );
+        params.put( "errorMessage", error.getMessage() );
 
-        AppLovinMAX.getInstance().fireCallback( "OnAdViewAdLoadFailedEvent", params, channel );
+        channel.sendEvent( viewId, "OnAdViewAdLoadFailedEvent", params );
     }
 
     @Override
@@ -110,6 +247,6 @@ public class AppLovinMAXAdView
 
     private void sendEvent(final String event, final MaxAd ad)
     {
-        AppLovinMAX.getInstance().fireCallback( event, ad, channel );
+        channel.sendEvent( viewId, event, AppLovinMAX.getInstance().getAdInfo( ad ) );
     }
 }
@@ -0,0 +1,74 @@
+package com.applovin.applovin_max;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+/**
+ * The single channel "applovin_max/adviews" shared by all MaxAdView widgets of an engine, instead of a channel per widget. Events are tagged with the
+ * view id of the widget, and calls from Dart are routed to the widget by the view id they carry.
+ * <p>
+ * Must only be used from the main thread.
+ */
+class AppLovinMAXAdViewChannel
+        implements MethodCallHandler
+{
+    private final MethodChannel channel;
+
+    // View id -> the widget, from creation until it is disposed
+    private final Map<Integer, AppLovinMAXAdView> adViews = new HashMap<>();
+
+    AppLovinMAXAdViewChannel(final BinaryMessenger messenger)
+    {
+        channel = new MethodChannel( messenger, "applovin_max/adviews" );
+        channel.setMethodCallHandler( this );
+    }
+
+    void register(final int viewId, final AppLovinMAXAdView adView)
+    {
+        adViews.put( viewId, adView );
+    }
+
+    void unregister(final int viewId)
+    {
+        adViews.remove( viewId );
+    }
+
+    void dispose()
+    {
+        channel.setMethodCallHandler( null );
+        adViews.clear();
+    }
+
+    /**
+     * Sends an event of the widget with the given view id. Events of widgets that have been disposed are dropped.
+     */
+    void sendEvent(final int viewId, final String name, final Map<String, Object> params)
+    {
+        if ( !adViews.containsKey( viewId ) ) return;
+
+        params.put( "viewId", Integer.toString( viewId ) );
+        AppLovinMAX.getInstance().fireCallback( name, params, channel );
+    }
+
+    @Override
+    public void onMethodCall(@NonNull final MethodCall call, @NonNull final Result result)
+    {
+        final Integer viewId = call.argument( "view_id" );
+        final AppLovinMAXAdView adView = ( viewId != null ) ? adViews.get( viewId ) : null;
+        if ( adView == null )
+        {
+            // The widget was disposed before the call arrived
+            result.success( null );
+            return;
+        }
+
+        adView.onMethodCall( call, result );
+    }
+}
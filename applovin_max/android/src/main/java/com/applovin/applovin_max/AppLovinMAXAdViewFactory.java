@@ -9,7 +9,6 @@ import java.util.Map;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.StandardMessageCodec;
 import io.flutter.plugin.platform.PlatformView;
 import io.flutter.plugin.platform.PlatformViewFactory;
@@ -20,13 +19,13 @@ import io.flutter.plugin.platform.PlatformViewFactory;
 public class AppLovinMAXAdViewFactory
         extends PlatformViewFactory
 {
-    private final BinaryMessenger messenger;
+    private final AppLovinMAXAdViewChannel channel;
 
-    public AppLovinMAXAdViewFactory(final BinaryMessenger messenger)
+    public AppLovinMAXAdViewFactory(final AppLovinMAXAdViewChannel channel)
     {
         super( StandardMessageCodec.INSTANCE );
 
-        this.messenger = messenger;
+        this.channel = channel;
     }
 
     @NonNull
@@ -54,6 +53,6 @@ public class AppLovinMAXAdViewFactory
         String placement = args.containsKey( "placement" ) ? (String) args.get( "placement" ) : null;
         String customData = args.containsKey( "customData" ) ? (String) args.get( "customData" ) : null;
 
-        return new AppLovinMAXAdView( viewId, adUnitId, adFormat, placement, customData, messenger, sdk, context );
+        return new AppLovinMAXAdView( viewId, adUnitId, adFormat, placement, customData, channel, sdk, AppLovinMAX.getInstance().getAdViewPool(), context );
     }
 }
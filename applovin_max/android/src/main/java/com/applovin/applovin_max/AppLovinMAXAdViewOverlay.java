@@ -0,0 +1,101 @@
+package com.applovin.applovin_max;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.FrameLayout;
+
+import com.applovin.mediation.ads.MaxAdView;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Hosts all programmatic banners and MRECs of an Activity in a single full-screen container, instead of stacking one container per ad view on top of the content.
+ * <p>
+ * The container is lazily added to the Activity when its first ad view is added and removed again with its last ad view. It is looked up in the Activity's
+ * content view rather than kept, so that nothing here outlives the Activity. Ad views are positioned through their {@link FrameLayout.LayoutParams}, so
+ * that position changes made within a frame share a single layout pass. Must only be used from the main thread.
+ */
+class AppLovinMAXAdViewOverlay
+{
+    /**
+     * The container of an Activity, told apart from the other views of its content view by its class.
+     */
+    private static final class Container
+            extends FrameLayout
+    {
+        Container(final Context context)
+        {
+            super( context );
+        }
+    }
+
+    void addAdView(final Activity activity, final MaxAdView adView)
+    {
+        Container container = findContainer( activity );
+        if ( container == null )
+        {
+            container = new Container( activity );
+            activity.addContentView( container, new ViewGroup.LayoutParams( ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT ) );
+        }
+
+        container.addView( adView, new FrameLayout.LayoutParams( FrameLayout.LayoutParams.WRAP_CONTENT, FrameLayout.LayoutParams.WRAP_CONTENT ) );
+    }
+
+    /**
+     * @return The layout params to update in place, or {@code null} if the ad view is not hosted by an overlay. Call {@link #requestLayout(MaxAdView)} once done.
+     */
+    @Nullable
+    FrameLayout.LayoutParams getLayoutParams(final MaxAdView adView)
+    {
+        if ( !( adView.getParent() instanceof Container ) ) return null;
+
+        return (FrameLayout.LayoutParams) adView.getLayoutParams();
+    }
+
+    void requestLayout(final MaxAdView adView)
+    {
+        // Only the container needs to be laid out again, and repeated requests within a frame are coalesced into one pass
+        final ViewParent parent = adView.getParent();
+        if ( parent instanceof FrameLayout && !( (FrameLayout) parent ).isLayoutRequested() )
+        {
+            parent.requestLayout();
+        }
+    }
+
+    void removeAdView(final MaxAdView adView)
+    {
+        final ViewParent parent = adView.getParent();
+        if ( !( parent instanceof ViewGroup ) ) return;
+
+        final ViewGroup container = (ViewGroup) parent;
+        container.removeView( adView );
+
+        if ( container instanceof Container && container.getChildCount() == 0 )
+        {
+            final ViewParent contentView = container.getParent();
+            if ( contentView instanceof ViewGroup )
+            {
+                ( (ViewGroup) contentView ).removeView( container );
+            }
+        }
+    }
+
+    @Nullable
+    private static Container findContainer(final Activity activity)
+    {
+        final View contentView = activity.findViewById( android.R.id.content );
+        if ( !( contentView instanceof ViewGroup ) ) return null;
+
+        final ViewGroup contentViewGroup = (ViewGroup) contentView;
+        for ( int i = 0; i < contentViewGroup.getChildCount(); i++ )
+        {
+            final View child = contentViewGroup.getChildAt( i );
+            if ( child instanceof Container ) return (Container) child;
+        }
+
+        return null;
+    }
+}
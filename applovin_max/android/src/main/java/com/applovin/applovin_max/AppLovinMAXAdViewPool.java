@@ -0,0 +1,310 @@
+package com.applovin.applovin_max;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.applovin.mediation.MaxAd;
+import com.applovin.mediation.MaxAdFormat;
+import com.applovin.mediation.MaxAdViewAdListener;
+import com.applovin.mediation.MaxError;
+import com.applovin.mediation.ads.MaxAdView;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+import androidx.annotation.Nullable;
+
+/**
+ * LRU pool of {@link MaxAdView}s released by disposed {@link AppLovinMAXAdView}s, keyed by ad unit id, format and placement.
+ * <p>
+ * Parked ad views are detached from their parent and have auto-refresh paused until they are handed out again. The pool is disabled
+ * (size 0) until {@link #setLimits(int, long)} is called.
+ * <p>
+ * Ad views may also be preloaded ahead of the widget being mounted via {@link #preload(String, MaxAdView, MaxAdFormat, long)}. Preloads do not count
+ * towards the pool size, are handed out before parked ad views and are destroyed if unused after their own timeout.
+ * <p>
+ * Must only be used from the main thread.
+ */
+class AppLovinMAXAdViewPool
+{
+    static class Entry
+            implements MaxAdViewAdListener
+    {
+        final String    key;
+        final MaxAdView adView;
+        @Nullable
+        MaxAd           lastLoadedAd;
+        final long      parkedAtMillis;
+        @Nullable
+        Runnable        expireRunnable;
+        // The format of a preloaded ad view, for its load metrics
+        @Nullable
+        MaxAdFormat     preloadAdFormat;
+
+        private Entry(final String key, final MaxAdView adView, @Nullable final MaxAd lastLoadedAd)
+        {
+            this.key = key;
+            this.adView = adView;
+            this.lastLoadedAd = lastLoadedAd;
+            this.parkedAtMillis = SystemClock.elapsedRealtime();
+        }
+
+        // Listener for preloaded ad views until they are handed out
+
+        @Override
+        public void onAdLoaded(final MaxAd ad)
+        {
+            AppLovinMAX.getInstance().getLoadMetrics().onLoadSucceeded( ad.getAdUnitId(), preloadAdFormat );
+            lastLoadedAd = ad;
+
+            // Do not refresh off-screen, the adopting widget resumes auto-refresh
+            adView.stopAutoRefresh();
+        }
+
+        @Override
+        public void onAdLoadFailed(final String adUnitId, final MaxError error)
+        {
+            AppLovinMAX.getInstance().getLoadMetrics().onLoadFailed( adUnitId, preloadAdFormat );
+            AppLovinMAX.d( "Failed to preload MaxAdView widget with Ad Unit ID: " + adUnitId + " - " + error.getMessage() );
+        }
+
+        @Override
+        public void onAdDisplayed(final MaxAd ad) { }
+
+        @Override
+        public void onAdDisplayFailed(final MaxAd ad, final MaxError error) { }
+
+        @Override
+        public void onAdHidden(final MaxAd ad) { }
+
+        @Override
+        public void onAdClicked(final MaxAd ad) { }
+
+        @Override
+        public void onAdExpanded(final MaxAd ad) { }
+
+        @Override
+        public void onAdCollapsed(final MaxAd ad) { }
+    }
+
+    private final Handler           handler                 = new Handler( Looper.getMainLooper() );
+    private final LinkedList<Entry> entries                 = new LinkedList<>(); // Least recently parked first
+    private final Runnable          trimIdleEntriesRunnable = this::trimIdleEntries;
+    private final LinkedList<Entry> preloads                = new LinkedList<>();
+
+    private int  maxSize;
+    private long maxIdleMillis = 60000;
+
+    private int hits;
+    private int misses;
+    private int evictions;
+    private int preloadHits;
+    private int expiredPreloads;
+
+    static String getKey(final String adUnitId, final MaxAdFormat adFormat, @Nullable final String placement)
+    {
+        return adUnitId + "_" + adFormat.getLabel() + "_" + placement;
+    }
+
+    /**
+     * @param maxSize       Maximum number of parked ad views, or 0 to disable pooling.
+     * @param maxIdleMillis How long an ad view may stay parked before it is destroyed.
+     */
+    void setLimits(final int maxSize, final long maxIdleMillis)
+    {
+        this.maxSize = Math.max( maxSize, 0 );
+        this.maxIdleMillis = Math.max( maxIdleMillis, 0 );
+
+        while ( entries.size() > this.maxSize )
+        {
+            evict( entries.removeFirst() );
+        }
+
+        trimIdleEntries();
+    }
+
+    /**
+     * @return A parked ad view for the key, or {@code null} if there is none.
+     */
+    @Nullable
+    Entry acquire(final String key)
+    {
+        final Iterator<Entry> preloadIterator = preloads.iterator();
+        while ( preloadIterator.hasNext() )
+        {
+            final Entry preload = preloadIterator.next();
+            if ( preload.key.equals( key ) )
+            {
+                preloadIterator.remove();
+                handler.removeCallbacks( preload.expireRunnable );
+                preloadHits++;
+
+                return preload;
+            }
+        }
+
+        // Prefer the most recently parked ad view since its ad is the freshest
+        final Iterator<Entry> iterator = entries.descendingIterator();
+        while ( iterator.hasNext() )
+        {
+            final Entry entry = iterator.next();
+            if ( entry.key.equals( key ) )
+            {
+                iterator.remove();
+                hits++;
+
+                return entry;
+            }
+        }
+
+        if ( maxSize > 0 ) misses++;
+
+        return null;
+    }
+
+    /**
+     * Parks the ad view for later reuse.
+     *
+     * @return {@code false} if pooling is disabled, in which case the caller remains responsible for destroying the ad view.
+     */
+    boolean park(final String key, final MaxAdView adView, @Nullable final MaxAd lastLoadedAd)
+    {
+        if ( maxSize == 0 ) return false;
+
+        adView.setListener( null );
+        adView.stopAutoRefresh();
+
+        final ViewParent parent = adView.getParent();
+        if ( parent instanceof ViewGroup )
+        {
+            ( (ViewGroup) parent ).removeView( adView );
+        }
+
+        entries.addLast( new Entry( key, adView, lastLoadedAd ) );
+
+        while ( entries.size() > maxSize )
+        {
+            evict( entries.removeFirst() );
+        }
+
+        trimIdleEntries();
+
+        return true;
+    }
+
+    /**
+     * Loads the ad view off-screen so that the next widget with the same key can adopt it. The ad view is destroyed if no widget adopts it within {@code timeoutMillis}.
+     */
+    void preload(final String key, final MaxAdView adView, final MaxAdFormat adFormat, final long timeoutMillis)
+    {
+        final Entry preload = new Entry( key, adView, null );
+        preload.preloadAdFormat = adFormat;
+        preload.expireRunnable = () -> {
+            if ( preloads.remove( preload ) )
+            {
+                expiredPreloads++;
+                preload.adView.setListener( null );
+                preload.adView.destroy();
+            }
+        };
+
+        preloads.add( preload );
+        handler.postDelayed( preload.expireRunnable, timeoutMillis );
+
+        adView.setListener( preload );
+
+        // Completed by the preload, or by the widget that adopts the ad view while it is loading
+        AppLovinMAX.getInstance().getLoadMetrics().onLoadStarted( adView.getAdUnitId(), adFormat );
+        adView.loadAd();
+    }
+
+    Map<String, Object> getStats()
+    {
+        final int requests = hits + misses;
+
+        final Map<String, Object> stats = new HashMap<>( 9 );
+        stats.put( "size", entries.size() );
+        stats.put( "maxSize", maxSize );
+        stats.put( "hits", hits );
+        stats.put( "misses", misses );
+        stats.put( "evictions", evictions );
+        stats.put( "hitRate", requests > 0 ? (double) hits / requests : 0.0 );
+        stats.put( "preloads", preloads.size() );
+        stats.put( "preloadHits", preloadHits );
+        stats.put( "expiredPreloads", expiredPreloads );
+
+        return stats;
+    }
+
+    /**
+     * Destroys the parked ad views, keeping the preloaded ones until a widget adopts them or they expire.
+     *
+     * @return The number of parked ad views destroyed.
+     */
+    int clearParked()
+    {
+        handler.removeCallbacks( trimIdleEntriesRunnable );
+
+        final int cleared = entries.size();
+
+        while ( !entries.isEmpty() )
+        {
+            evict( entries.removeFirst() );
+        }
+
+        return cleared;
+    }
+
+    /**
+     * @return The number of pooled and preloaded ad views destroyed.
+     */
+    int clear()
+    {
+        handler.removeCallbacks( trimIdleEntriesRunnable );
+
+        final int cleared = entries.size() + preloads.size();
+
+        for ( Entry preload : preloads )
+        {
+            handler.removeCallbacks( preload.expireRunnable );
+            preload.adView.setListener( null );
+            preload.adView.destroy();
+        }
+        preloads.clear();
+
+        while ( !entries.isEmpty() )
+        {
+            evict( entries.removeFirst() );
+        }
+
+        return cleared;
+    }
+
+    private void trimIdleEntries()
+    {
+        handler.removeCallbacks( trimIdleEntriesRunnable );
+
+        final long now = SystemClock.elapsedRealtime();
+        while ( !entries.isEmpty() && now - entries.getFirst().parkedAtMillis >= maxIdleMillis )
+        {
+            evict( entries.removeFirst() );
+        }
+
+        if ( !entries.isEmpty() )
+        {
+            final long nextExpiryMillis = entries.getFirst().parkedAtMillis + maxIdleMillis - now;
+            handler.postDelayed( trimIdleEntriesRunnable, nextExpiryMillis );
+        }
+    }
+
+    private void evict(final Entry entry)
+    {
+        evictions++;
+        entry.adView.destroy();
+    }
+}
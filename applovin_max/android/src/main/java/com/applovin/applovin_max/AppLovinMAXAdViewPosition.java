@@ -0,0 +1,100 @@
+package com.applovin.applovin_max;
+
+import android.view.Gravity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A programmatic ad view position (e.g. "top_center", "bottom_right" or "centered") parsed once into the gravity and width mode used to lay the ad view out.
+ * <p>
+ * Positions passed in by pub are one of a handful of values, so parsed positions are interned and repositioning requires no string work or allocation.
+ */
+class AppLovinMAXAdViewPosition
+{
+    enum WidthMode
+    {
+        // Keep the current width
+        UNCHANGED,
+        // Stretch banners to the width of the screen, MRECs keep their own width
+        STRETCH_BANNER,
+        // Use the width of the ad format
+        FIXED
+    }
+
+    private static final Map<String, AppLovinMAXAdViewPosition> positions = new HashMap<>( 9 );
+
+    final String    name;
+    final int       gravity;
+    final WidthMode widthMode;
+
+    private AppLovinMAXAdViewPosition(final String name, final int gravity, final WidthMode widthMode)
+    {
+        this.name = name;
+        this.gravity = gravity;
+        this.widthMode = widthMode;
+    }
+
+    /**
+     * @return The parsed position, or {@code null} if {@code name} is {@code null}.
+     */
+    @Nullable
+    static AppLovinMAXAdViewPosition parse(@Nullable final String name)
+    {
+        if ( name == null ) return null;
+
+        AppLovinMAXAdViewPosition position = positions.get( name );
+        if ( position == null )
+        {
+            position = create( name );
+            positions.put( name, position );
+        }
+
+        return position;
+    }
+
+    private static AppLovinMAXAdViewPosition create(final String name)
+    {
+        if ( "centered".equalsIgnoreCase( name ) )
+        {
+            return new AppLovinMAXAdViewPosition( name, Gravity.CENTER_VERTICAL | Gravity.CENTER_HORIZONTAL, WidthMode.UNCHANGED );
+        }
+
+        int gravity = 0;
+
+        // Figure out vertical params
+        if ( name.contains( "top" ) )
+        {
+            gravity = Gravity.TOP;
+        }
+        else if ( name.contains( "bottom" ) )
+        {
+            gravity = Gravity.BOTTOM;
+        }
+
+        // Figure out horizontal params
+        if ( name.contains( "center" ) )
+        {
+            return new AppLovinMAXAdViewPosition( name, gravity | Gravity.CENTER_HORIZONTAL, WidthMode.STRETCH_BANNER );
+        }
+
+        if ( name.contains( "left" ) )
+        {
+            gravity |= Gravity.LEFT;
+        }
+        else if ( name.contains( "right" ) )
+        {
+            gravity |= Gravity.RIGHT;
+        }
+
+        return new AppLovinMAXAdViewPosition( name, gravity, WidthMode.FIXED );
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
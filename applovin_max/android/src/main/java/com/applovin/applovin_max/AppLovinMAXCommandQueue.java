@@ -0,0 +1,210 @@
+package com.applovin.applovin_max;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+/**
+ * Bounded queue of method calls made before the SDK finished initializing, drained in order once it has.
+ * <p>
+ * Repeated calls to a collapsible setter for the same target (e.g. {@code setMuted}, or {@code setBannerPlacement} for the same ad unit id)
+ * supersede the earlier call, which is completed right away and dropped from the queue. Each call is run for the engine that made it, since some
+ * calls configure the calling engine. Must only be used from the main thread.
+ */
+class AppLovinMAXCommandQueue
+{
+    interface QueuedCallHandler
+    {
+        void onQueuedCall(@Nullable AppLovinMAXPlugin engine, MethodCall call, Result result);
+    }
+
+    private static class Command
+    {
+        private final MethodCall        call;
+        private final Result            result;
+        @Nullable
+        private final AppLovinMAXPlugin engine;
+        @Nullable
+        private final String            collapseKey;
+
+        private Command(final MethodCall call, final Result result, @Nullable final AppLovinMAXPlugin engine, @Nullable final String collapseKey)
+        {
+            this.call = call;
+            this.result = result;
+            this.engine = engine;
+            this.collapseKey = collapseKey;
+        }
+    }
+
+    /**
+     * Keeps track of whether a queued call replied, so that it can be failed if its handler throws before replying.
+     */
+    private static class TrackedResult
+            implements Result
+    {
+        private final Result result;
+        private boolean      isReplied;
+
+        private TrackedResult(final Result result)
+        {
+            this.result = result;
+        }
+
+        @Override
+        public void success(@Nullable final Object value)
+        {
+            isReplied = true;
+            result.success( value );
+        }
+
+        @Override
+        public void error(final String errorCode, @Nullable final String errorMessage, @Nullable final Object errorDetails)
+        {
+            isReplied = true;
+            result.error( errorCode, errorMessage, errorDetails );
+        }
+
+        @Override
+        public void notImplemented()
+        {
+            isReplied = true;
+            result.notImplemented();
+        }
+    }
+
+    private final int                  capacity;
+    private final Set<String>          collapsibleMethods;
+    private final LinkedList<Command>  commands = new LinkedList<>();
+
+    private int enqueued;
+    private int collapsed;
+    private int rejected;
+
+    /**
+     * @param capacity           Maximum number of queued calls, beyond which calls are rejected.
+     * @param collapsibleMethods Setters for which only the latest call per ad unit id (and extra parameter key) needs to run.
+     */
+    AppLovinMAXCommandQueue(final int capacity, final Set<String> collapsibleMethods)
+    {
+        this.capacity = capacity;
+        this.collapsibleMethods = collapsibleMethods;
+    }
+
+    /**
+     * @param engine The engine making the call, if any.
+     * @return {@code false} if the queue is full, in which case the call has been failed.
+     */
+    boolean enqueue(final MethodCall call, final Result result, @Nullable final AppLovinMAXPlugin engine)
+    {
+        final String collapseKey = getCollapseKey( call );
+        if ( collapseKey != null )
+        {
+            // Drop the superseded call so the latest one runs after everything queued in between
+            final Iterator<Command> iterator = commands.iterator();
+            while ( iterator.hasNext() )
+            {
+                final Command command = iterator.next();
+                if ( collapseKey.equals( command.collapseKey ) )
+                {
+                    iterator.remove();
+                    command.result.success( null );
+                    collapsed++;
+
+                    break;
+                }
+            }
+        }
+
+        if ( commands.size() >= capacity )
+        {
+            rejected++;
+            AppLovinMAX.e( "Unable to queue " + call.method + " until the SDK is initialized - too many calls queued" );
+            result.error( "QUEUE_FULL", "Too many calls made before the SDK is initialized", null );
+
+            return false;
+        }
+
+        commands.add( new Command( call, result, engine, collapseKey ) );
+        enqueued++;
+
+        return true;
+    }
+
+    /**
+     * Runs all queued calls in order in a single pass.
+     */
+    void drain(final QueuedCallHandler handler)
+    {
+        drain( null, handler );
+    }
+
+    /**
+     * Runs the queued calls to the given methods in order, leaving all other calls queued. A call whose handler throws is failed, and the calls
+     * after it still run.
+     */
+    void drain(@Nullable final Set<String> methods, final QueuedCallHandler handler)
+    {
+        if ( commands.isEmpty() ) return;
+
+        AppLovinMAX.d( "Running " + ( methods != null ? "queued settings" : commands.size() + " queued call(s)" ) + "..." );
+
+        final Iterator<Command> iterator = commands.iterator();
+        while ( iterator.hasNext() )
+        {
+            final Command command = iterator.next();
+            if ( methods != null && !methods.contains( command.call.method ) ) continue;
+
+            iterator.remove();
+
+            final TrackedResult result = new TrackedResult( command.result );
+            try
+            {
+                handler.onQueuedCall( command.engine, command.call, result );
+            }
+            catch ( Exception ex )
+            {
+                AppLovinMAX.e( "Unable to run queued " + command.call.method + ": " + ex );
+                if ( !result.isReplied ) result.error( "QUEUED_CALL_FAILED", ex.toString(), null );
+            }
+        }
+    }
+
+    /**
+     * Fails and drops all queued calls.
+     */
+    void fail(final String errorCode, final String errorMessage)
+    {
+        for ( Command command : commands )
+        {
+            command.result.error( errorCode, errorMessage, null );
+        }
+
+        commands.clear();
+    }
+
+    Map<String, Object> getStats()
+    {
+        final Map<String, Object> stats = new HashMap<>( 5 );
+        stats.put( "size", commands.size() );
+        stats.put( "capacity", capacity );
+        stats.put( "enqueued", enqueued );
+        stats.put( "collapsed", collapsed );
+        stats.put( "rejected", rejected );
+
+        return stats;
+    }
+
+    @Nullable
+    private String getCollapseKey(final MethodCall call)
+    {
+        if ( !collapsibleMethods.contains( call.method ) ) return null;
+
+        return call.method + "_" + call.argument( "ad_unit_id" ) + "_" + call.argument( "key" );
+    }
+}
@@ -0,0 +1,76 @@
+package com.applovin.applovin_max;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Buffers events fired on the main thread and delivers them to Dart once per frame as a single message.
+ * <p>
+ * The message is sent as {@link #BATCHED_EVENTS_METHOD} with a flat list of alternating event names and params, in the order they were fired.
+ */
+class AppLovinMAXEventCoalescer
+        implements Choreographer.FrameCallback
+{
+    static final String BATCHED_EVENTS_METHOD = "OnBatchedEvents";
+
+    private final MethodChannel channel;
+    private final Choreographer choreographer;
+
+    private List<Object> pendingEvents = new ArrayList<>( 16 );
+    private boolean      isFrameCallbackPosted;
+
+    AppLovinMAXEventCoalescer(final MethodChannel channel)
+    {
+        this.channel = channel;
+        this.choreographer = Choreographer.getInstance();
+    }
+
+    void enqueue(final String name, final Map<String, ?> params)
+    {
+        pendingEvents.add( name );
+        pendingEvents.add( params );
+
+        if ( !isFrameCallbackPosted )
+        {
+            isFrameCallbackPosted = true;
+            choreographer.postFrameCallback( this );
+        }
+    }
+
+    @Override
+    public void doFrame(final long frameTimeNanos)
+    {
+        isFrameCallbackPosted = false;
+        flush();
+    }
+
+    /**
+     * Sends any pending events immediately and stops waiting for the next frame.
+     */
+    void shutdown()
+    {
+        if ( isFrameCallbackPosted )
+        {
+            isFrameCallbackPosted = false;
+            choreographer.removeFrameCallback( this );
+        }
+
+        flush();
+    }
+
+    private void flush()
+    {
+        if ( pendingEvents.isEmpty() ) return;
+
+        // The list is handed off to the codec, so start a fresh one for the next frame
+        final List<Object> events = pendingEvents;
+        pendingEvents = new ArrayList<>( events.size() );
+
+        channel.invokeMethod( BATCHED_EVENTS_METHOD, events );
+    }
+}
@@ -0,0 +1,365 @@
+package com.applovin.applovin_max;
+
+import android.os.SystemClock;
+
+import com.applovin.mediation.MaxAd;
+import com.applovin.mediation.MaxAdFormat;
+import com.applovin.mediation.MaxError;
+import com.applovin.mediation.MaxReward;
+import com.applovin.mediation.MaxRewardedAdListener;
+import com.applovin.mediation.ads.MaxInterstitialAd;
+import com.applovin.mediation.ads.MaxRewardedAd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Keeps up to a configurable number of fullscreen ads loaded for a single ad unit.
+ * <p>
+ * Each slot reloads automatically once its ad is hidden or fails to display, and shows are served from the most recently loaded ready slot.
+ * All ad events are forwarded to the plugin listener unchanged.
+ */
+class AppLovinMAXFullscreenAdPool
+{
+    /**
+     * Common surface of {@link MaxInterstitialAd} and {@link MaxRewardedAd}.
+     */
+    interface FullscreenAd
+    {
+        void loadAd();
+
+        boolean isReady();
+
+        void showAd(@Nullable String placement);
+
+        void setExtraParameter(String key, @Nullable String value);
+
+        void destroy();
+    }
+
+    interface FullscreenAdFactory
+    {
+        FullscreenAd create(MaxRewardedAdListener listener);
+    }
+
+    static FullscreenAd wrap(final MaxInterstitialAd interstitial)
+    {
+        return new FullscreenAd()
+        {
+            @Override
+            public void loadAd() { interstitial.loadAd(); }
+
+            @Override
+            public boolean isReady() { return interstitial.isReady(); }
+
+            @Override
+            public void showAd(@Nullable final String placement) { interstitial.showAd( placement ); }
+
+            @Override
+            public void setExtraParameter(final String key, @Nullable final String value) { interstitial.setExtraParameter( key, value ); }
+
+            @Override
+            public void destroy() { interstitial.destroy(); }
+        };
+    }
+
+    static FullscreenAd wrap(final MaxRewardedAd rewardedAd)
+    {
+        return new FullscreenAd()
+        {
+            @Override
+            public void loadAd() { rewardedAd.loadAd(); }
+
+            @Override
+            public boolean isReady() { return rewardedAd.isReady(); }
+
+            @Override
+            public void showAd(@Nullable final String placement) { rewardedAd.showAd( placement ); }
+
+            @Override
+            public void setExtraParameter(final String key, @Nullable final String value) { rewardedAd.setExtraParameter( key, value ); }
+
+            @Override
+            public void destroy() { rewardedAd.destroy(); }
+        };
+    }
+
+    private final String                 adUnitId;
+    private final MaxAdFormat            adFormat;
+    private final FullscreenAdFactory    factory;
+    private final MaxRewardedAdListener  listener;
+    private final AppLovinMAXLoadMetrics loadMetrics;
+    private final List<Slot>             slots;
+    private final Map<String, String>    extraParameters = new HashMap<>( 2 );
+
+    // Whether pub has requested a load, after which slots are kept filled
+    private boolean isActive;
+    private int     hits;
+    private int     misses;
+
+    /**
+     * @param adoptedLoadState The load state of the ad the factory adopts as the first slot, if any, so that a load already in flight is not started again.
+     */
+    AppLovinMAXFullscreenAdPool(final String adUnitId, final MaxAdFormat adFormat, final int depth, final AppLovinMAXAdState.LoadState adoptedLoadState, final FullscreenAdFactory factory, final MaxRewardedAdListener listener, final AppLovinMAXLoadMetrics loadMetrics)
+    {
+        this.adUnitId = adUnitId;
+        this.adFormat = adFormat;
+        this.factory = factory;
+        this.listener = listener;
+        this.loadMetrics = loadMetrics;
+        this.slots = new ArrayList<>( depth );
+
+        setDepth( depth );
+
+        if ( !slots.isEmpty() )
+        {
+            final Slot adoptedSlot = slots.get( 0 );
+            if ( adoptedLoadState == AppLovinMAXAdState.LoadState.LOADING )
+            {
+                adoptedSlot.isLoading = true;
+            }
+            else if ( adoptedSlot.ad.isReady() )
+            {
+                adoptedSlot.loadedAtMillis = SystemClock.elapsedRealtime();
+            }
+        }
+    }
+
+    String getAdUnitId()
+    {
+        return adUnitId;
+    }
+
+    int getDepth()
+    {
+        return slots.size();
+    }
+
+    void setDepth(final int depth)
+    {
+        while ( slots.size() > depth )
+        {
+            slots.remove( slots.size() - 1 ).destroy();
+        }
+
+        while ( slots.size() < depth )
+        {
+            final Slot slot = new Slot();
+            slot.ad = factory.create( slot );
+            for ( Map.Entry<String, String> extraParameter : extraParameters.entrySet() )
+            {
+                slot.ad.setExtraParameter( extraParameter.getKey(), extraParameter.getValue() );
+            }
+
+            slots.add( slot );
+
+            if ( isActive ) slot.load();
+        }
+    }
+
+    /**
+     * @return Whether any slot started loading, which none does if every slot is loaded or loading already.
+     */
+    boolean load()
+    {
+        isActive = true;
+
+        boolean isLoadStarted = false;
+        for ( Slot slot : slots )
+        {
+            if ( !slot.isLoading && !slot.ad.isReady() )
+            {
+                slot.load();
+                isLoadStarted = true;
+            }
+        }
+
+        return isLoadStarted;
+    }
+
+    boolean isReady()
+    {
+        for ( Slot slot : slots )
+        {
+            if ( slot.ad.isReady() ) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return {@code LOADED} if any slot holds a ready ad, otherwise {@code LOADING} if any slot is loading, otherwise {@code IDLE}.
+     */
+    AppLovinMAXAdState.LoadState getLoadState()
+    {
+        if ( isReady() ) return AppLovinMAXAdState.LoadState.LOADED;
+
+        for ( Slot slot : slots )
+        {
+            if ( slot.isLoading ) return AppLovinMAXAdState.LoadState.LOADING;
+        }
+
+        return AppLovinMAXAdState.LoadState.IDLE;
+    }
+
+    void show(@Nullable final String placement)
+    {
+        Slot freshestSlot = null;
+        for ( Slot slot : slots )
+        {
+            if ( slot.ad.isReady() && ( freshestSlot == null || slot.loadedAtMillis > freshestSlot.loadedAtMillis ) )
+            {
+                freshestSlot = slot;
+            }
+        }
+
+        if ( freshestSlot != null )
+        {
+            hits++;
+            freshestSlot.ad.showAd( placement );
+        }
+        else
+        {
+            misses++;
+
+            // Let the SDK report the ad as not ready
+            slots.get( 0 ).ad.showAd( placement );
+        }
+    }
+
+    void setExtraParameter(final String key, @Nullable final String value)
+    {
+        extraParameters.put( key, value );
+
+        for ( Slot slot : slots )
+        {
+            slot.ad.setExtraParameter( key, value );
+        }
+    }
+
+    Map<String, Object> getStats()
+    {
+        final long now = SystemClock.elapsedRealtime();
+        final List<Long> readyAgesMillis = new ArrayList<>( slots.size() );
+        for ( Slot slot : slots )
+        {
+            if ( slot.ad.isReady() )
+            {
+                readyAgesMillis.add( now - slot.loadedAtMillis );
+            }
+        }
+
+        final Map<String, Object> stats = new HashMap<>( 5 );
+        stats.put( "adUnitId", adUnitId );
+        stats.put( "depth", slots.size() );
+        stats.put( "readyAgesMillis", readyAgesMillis );
+        stats.put( "hits", hits );
+        stats.put( "misses", misses );
+
+        return stats;
+    }
+
+    void destroy()
+    {
+        for ( Slot slot : slots )
+        {
+            slot.destroy();
+        }
+
+        slots.clear();
+    }
+
+    private class Slot
+            implements MaxRewardedAdListener
+    {
+        private FullscreenAd ad;
+        private boolean      isLoading;
+        private long         loadedAtMillis;
+        private boolean      isDestroyed;
+
+        private void load()
+        {
+            isLoading = true;
+            loadMetrics.onLoadStarted( adUnitId, adFormat );
+            ad.loadAd();
+        }
+
+        private void reloadIfNeeded()
+        {
+            if ( isActive && !isDestroyed && !isLoading ) load();
+        }
+
+        private void destroy()
+        {
+            isDestroyed = true;
+            ad.destroy();
+        }
+
+        @Override
+        public void onAdLoaded(final MaxAd ad)
+        {
+            isLoading = false;
+            loadedAtMillis = SystemClock.elapsedRealtime();
+
+            listener.onAdLoaded( ad );
+        }
+
+        @Override
+        public void onAdLoadFailed(final String adUnitId, final MaxError error)
+        {
+            isLoading = false;
+
+            listener.onAdLoadFailed( adUnitId, error );
+        }
+
+        @Override
+        public void onAdDisplayed(final MaxAd ad)
+        {
+            listener.onAdDisplayed( ad );
+        }
+
+        @Override
+        public void onAdDisplayFailed(final MaxAd ad, final MaxError error)
+        {
+            listener.onAdDisplayFailed( ad, error );
+
+            reloadIfNeeded();
+        }
+
+        @Override
+        public void onAdHidden(final MaxAd ad)
+        {
+            listener.onAdHidden( ad );
+
+            reloadIfNeeded();
+        }
+
+        @Override
+        public void onAdClicked(final MaxAd ad)
+        {
+            listener.onAdClicked( ad );
+        }
+
+        @Override
+        public void onRewardedVideoStarted(final MaxAd ad)
+        {
+            listener.onRewardedVideoStarted( ad );
+        }
+
+        @Override
+        public void onRewardedVideoCompleted(final MaxAd ad)
+        {
+            listener.onRewardedVideoCompleted( ad );
+        }
+
+        @Override
+        public void onUserRewarded(final MaxAd ad, final MaxReward reward)
+        {
+            listener.onUserRewarded( ad, reward );
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.applovin.applovin_max;
+
+import android.os.SystemClock;
+
+import com.applovin.mediation.MaxAdFormat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records how long ad loads take natively, from {@code loadAd()} to the load succeeding or failing, per ad unit id and ad format.
+ * <p>
+ * Latencies are counted in fixed buckets, so that recording a load does not allocate once the ad unit has been seen. Completions without a matching
+ * load start (e.g. ad view auto-refreshes) are not recorded. Must only be used from the main thread.
+ */
+class AppLovinMAXLoadMetrics
+{
+    // Upper bounds of the latency buckets, the last bucket holds everything slower
+    private static final long[] BUCKET_BOUNDS_MILLIS = { 50, 100, 150, 200, 300, 400, 500, 750, 1000, 1500, 2000, 3000, 4000, 5000, 7500, 10000, 15000, 20000, 30000 };
+
+    // Number of concurrent loads per ad unit whose start time is tracked, e.g. for fullscreen ad pools
+    private static final int MAX_PENDING_LOADS = 8;
+
+    private static class Histogram
+    {
+        private final String adUnitId;
+        private final String adFormat;
+        private final long[] bucketCounts      = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+        private final long[] pendingStartTimes = new long[MAX_PENDING_LOADS];
+
+        private int  pendingStartIndex;
+        private int  pendingCount;
+        private long loadCount;
+        private long failureCount;
+        private long totalMillis;
+        private long maxMillis;
+
+        private Histogram(final String adUnitId, final String adFormat)
+        {
+            this.adUnitId = adUnitId;
+            this.adFormat = adFormat;
+        }
+
+        private void start(final long now)
+        {
+            // Drop the oldest start if too many loads are in flight
+            pendingStartTimes[( pendingStartIndex + pendingCount ) % MAX_PENDING_LOADS] = now;
+            if ( pendingCount < MAX_PENDING_LOADS )
+            {
+                pendingCount++;
+            }
+            else
+            {
+                pendingStartIndex = ( pendingStartIndex + 1 ) % MAX_PENDING_LOADS;
+            }
+        }
+
+        private void finish(final long now, final boolean succeeded)
+        {
+            if ( pendingCount == 0 ) return;
+
+            final long latencyMillis = now - pendingStartTimes[pendingStartIndex];
+            pendingStartIndex = ( pendingStartIndex + 1 ) % MAX_PENDING_LOADS;
+            pendingCount--;
+
+            if ( !succeeded )
+            {
+                failureCount++;
+                return;
+            }
+
+            int bucket = 0;
+            while ( bucket < BUCKET_BOUNDS_MILLIS.length && latencyMillis > BUCKET_BOUNDS_MILLIS[bucket] )
+            {
+                bucket++;
+            }
+
+            bucketCounts[bucket]++;
+            loadCount++;
+            totalMillis += latencyMillis;
+            maxMillis = Math.max( maxMillis, latencyMillis );
+        }
+
+        /**
+         * @return The upper bound of the bucket holding the given percentile, or the slowest load if it falls into the last bucket.
+         */
+        private long getPercentileMillis(final double percentile)
+        {
+            if ( loadCount == 0 ) return 0;
+
+            final long rank = (long) Math.ceil( percentile * loadCount );
+            long count = 0;
+            for ( int bucket = 0; bucket < BUCKET_BOUNDS_MILLIS.length; bucket++ )
+            {
+                count += bucketCounts[bucket];
+                if ( count >= rank ) return Math.min( BUCKET_BOUNDS_MILLIS[bucket], maxMillis );
+            }
+
+            return maxMillis;
+        }
+
+        private Map<String, Object> toMap()
+        {
+            final long completedCount = loadCount + failureCount;
+
+            final Map<String, Object> metrics = new HashMap<>( 9 );
+            metrics.put( "adUnitId", adUnitId );
+            metrics.put( "adFormat", adFormat );
+            metrics.put( "loadCount", loadCount );
+            metrics.put( "failureCount", failureCount );
+            metrics.put( "failureRatio", completedCount > 0 ? (double) failureCount / completedCount : 0.0 );
+            metrics.put( "p50Millis", getPercentileMillis( 0.5 ) );
+            metrics.put( "p90Millis", getPercentileMillis( 0.9 ) );
+            metrics.put( "p99Millis", getPercentileMillis( 0.99 ) );
+            metrics.put( "meanMillis", loadCount > 0 ? totalMillis / loadCount : 0 );
+
+            return metrics;
+        }
+    }
+
+    // Ad unit id -> ad format label -> histogram
+    private final Map<String, Map<String, Histogram>> histograms = new HashMap<>( 4 );
+
+    void onLoadStarted(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        getHistogram( adUnitId, adFormat ).start( SystemClock.elapsedRealtime() );
+    }
+
+    void onLoadSucceeded(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        getHistogram( adUnitId, adFormat ).finish( SystemClock.elapsedRealtime(), true );
+    }
+
+    void onLoadFailed(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        getHistogram( adUnitId, adFormat ).finish( SystemClock.elapsedRealtime(), false );
+    }
+
+    /**
+     * @return One entry per ad unit id and ad format that has been loaded.
+     */
+    List<Map<String, Object>> getMetrics()
+    {
+        final List<Map<String, Object>> metrics = new ArrayList<>( histograms.size() );
+        for ( Map<String, Histogram> adFormatHistograms : histograms.values() )
+        {
+            for ( Histogram histogram : adFormatHistograms.values() )
+            {
+                metrics.add( histogram.toMap() );
+            }
+        }
+
+        return metrics;
+    }
+
+    private Histogram getHistogram(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        Map<String, Histogram> adFormatHistograms = histograms.get( adUnitId );
+        if ( adFormatHistograms == null )
+        {
+            adFormatHistograms = new HashMap<>( 1 );
+            histograms.put( adUnitId, adFormatHistograms );
+        }
+
+        final String adFormatLabel = adFormat.getLabel();
+        Histogram histogram = adFormatHistograms.get( adFormatLabel );
+        if ( histogram == null )
+        {
+            histogram = new Histogram( adUnitId, adFormatLabel );
+            adFormatHistograms.put( adFormatLabel, histogram );
+        }
+
+        return histogram;
+    }
+}
@@ -0,0 +1,212 @@
+package com.applovin.applovin_max;
+
+import android.app.Activity;
+
+import java.util.Map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.embedding.engine.plugins.FlutterPlugin;
+import io.flutter.embedding.engine.plugins.activity.ActivityAware;
+import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
+import io.flutter.plugin.common.BasicMessageChannel;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
+import io.flutter.plugin.common.MethodChannel.Result;
+import io.flutter.plugin.common.StandardMethodCodec;
+
+/**
+ * The plugin instance of a single FlutterEngine, binding the engine's channels and activity to the process-wide {@link AppLovinMAX}.
+ * <p>
+ * The SDK and ads are owned by {@link AppLovinMAX}, so all engines share one initialization and the ads loaded by any of them. Ad events are sent
+ * to every attached engine, in the format each engine enabled. MaxAdView widget events only go to the engine hosting the widget.
+ */
+public class AppLovinMAXPlugin
+        implements FlutterPlugin, MethodCallHandler, ActivityAware
+{
+    private AppLovinMAX                 max;
+    private MethodChannel               sharedChannel;
+    // Calls that are safe off the main thread, handled on a background task queue
+    private MethodChannel               backgroundChannel;
+    private BasicMessageChannel<Object> binaryAdEventChannel;
+    // Shared by all MaxAdView widgets of the engine
+    private AppLovinMAXAdViewChannel    adViewChannel;
+
+    // Interns strings per receiving engine, so every engine needs its own codec
+    private final AppLovinMAXAdEventCodec adEventCodec = new AppLovinMAXAdEventCodec();
+
+    // Buffers shared channel events until the next frame, if enabled by pub
+    @Nullable
+    private AppLovinMAXEventCoalescer eventCoalescer;
+    private boolean                   isBinaryAdEventsEnabled;
+    // Bit per ad event tag of AppLovinMAXAdEventCodec, all events are sent until Dart reports the events it has listeners for
+    private int                       subscribedEvents = ~0;
+    // Whether ad state changes are pushed to Dart to keep its mirror of the ad states up to date
+    private boolean                   isAdStateUpdatesEnabled;
+
+    @Nullable
+    private ActivityPluginBinding activityPluginBinding;
+
+    @Override
+    public void onAttachedToEngine(@NonNull final FlutterPluginBinding binding)
+    {
+        max = AppLovinMAX.getInstance( binding.getApplicationContext() );
+
+        sharedChannel = new MethodChannel( binding.getBinaryMessenger(), "applovin_max" );
+        sharedChannel.setMethodCallHandler( this );
+
+        final BinaryMessenger.TaskQueue taskQueue = binding.getBinaryMessenger().makeBackgroundTaskQueue();
+        backgroundChannel = new MethodChannel( binding.getBinaryMessenger(), "applovin_max/background", StandardMethodCodec.INSTANCE, taskQueue );
+        backgroundChannel.setMethodCallHandler( (call, result) -> max.onBackgroundMethodCall( call, result ) );
+
+        binaryAdEventChannel = new BasicMessageChannel<>( binding.getBinaryMessenger(), "applovin_max/ad_events", adEventCodec );
+        binaryAdEventChannel.setMessageHandler( (message, reply) -> {
+            if ( message instanceof Byte && (Byte) message == AppLovinMAXAdEventCodec.CONTROL_RESET )
+            {
+                adEventCodec.reset();
+            }
+
+            reply.reply( null );
+        } );
+
+        adViewChannel = new AppLovinMAXAdViewChannel( binding.getBinaryMessenger() );
+        AppLovinMAXAdViewFactory adViewFactory = new AppLovinMAXAdViewFactory( adViewChannel );
+        binding.getPlatformViewRegistry().registerViewFactory( "applovin_max/adview", adViewFactory );
+
+        max.attachEngine( this );
+    }
+
+    @Override
+    public void onDetachedFromEngine(@NonNull final FlutterPluginBinding binding)
+    {
+        max.detachEngine( this );
+
+        setEventCoalescingEnabled( false );
+        adViewChannel.dispose();
+        binaryAdEventChannel.setMessageHandler( null );
+        backgroundChannel.setMethodCallHandler( null );
+        sharedChannel.setMethodCallHandler( null );
+    }
+
+    @Override
+    public void onMethodCall(@NonNull final MethodCall call, @NonNull final Result result)
+    {
+        max.onMethodCall( this, call, result );
+    }
+
+    /**
+     * When enabled, events sent to this engine over the shared channel are buffered and delivered once per frame in a single message instead of one message per event.
+     */
+    void setEventCoalescingEnabled(final boolean enabled)
+    {
+        if ( enabled && eventCoalescer == null )
+        {
+            eventCoalescer = new AppLovinMAXEventCoalescer( sharedChannel );
+        }
+        else if ( !enabled && eventCoalescer != null )
+        {
+            eventCoalescer.shutdown();
+            eventCoalescer = null;
+        }
+    }
+
+    /**
+     * When enabled, ad events for this engine are sent over "applovin_max/ad_events" using {@link AppLovinMAXAdEventCodec} instead of as params maps.
+     */
+    void setBinaryAdEventsEnabled(final boolean enabled)
+    {
+        isBinaryAdEventsEnabled = enabled;
+    }
+
+    boolean isBinaryAdEventsEnabled()
+    {
+        return isBinaryAdEventsEnabled;
+    }
+
+    /**
+     * Sets the ad events the Dart side of this engine has listeners for, as a bit per event tag of {@link AppLovinMAXAdEventCodec#EVENT_NAMES}.
+     */
+    void setSubscribedEvents(final int subscribedEvents)
+    {
+        this.subscribedEvents = subscribedEvents;
+    }
+
+    int getSubscribedEvents()
+    {
+        return subscribedEvents;
+    }
+
+    /**
+     * @return Whether the ad event with the given tag should be sent to this engine. Events without a tag are always sent.
+     */
+    boolean isSubscribed(final int tag)
+    {
+        return tag < 0 || ( subscribedEvents & ( 1 << tag ) ) != 0;
+    }
+
+    void setAdStateUpdatesEnabled(final boolean enabled)
+    {
+        isAdStateUpdatesEnabled = enabled;
+    }
+
+    boolean isAdStateUpdatesEnabled()
+    {
+        return isAdStateUpdatesEnabled;
+    }
+
+    void sendAdEvent(final AppLovinMAXAdEventCodec.Event event)
+    {
+        binaryAdEventChannel.send( event );
+    }
+
+    void sendEvent(final String name, final Map<String, ?> params)
+    {
+        if ( eventCoalescer != null )
+        {
+            eventCoalescer.enqueue( name, params );
+        }
+        else
+        {
+            sharedChannel.invokeMethod( name, params );
+        }
+    }
+
+    @Nullable
+    Activity getActivity()
+    {
+        return ( activityPluginBinding != null ) ? activityPluginBinding.getActivity() : null;
+    }
+
+    // Activity Lifecycle Listener
+
+    @Override
+    public void onAttachedToActivity(@NonNull final ActivityPluginBinding binding)
+    {
+        activityPluginBinding = binding;
+        max.onEngineActivityAttached( this );
+    }
+
+    @Override
+    public void onDetachedFromActivityForConfigChanges()
+    {
+        // The activity is recreated right away, so only drop the reference to the old one and keep the ads for the new one
+        activityPluginBinding = null;
+    }
+
+    @Override
+    public void onReattachedToActivityForConfigChanges(@NonNull final ActivityPluginBinding binding)
+    {
+        activityPluginBinding = binding;
+        max.onEngineActivityAttached( this );
+    }
+
+    @Override
+    public void onDetachedFromActivity()
+    {
+        // Do not keep the activity alive until the next one attaches
+        activityPluginBinding = null;
+        max.onEngineActivityDetached();
+    }
+}
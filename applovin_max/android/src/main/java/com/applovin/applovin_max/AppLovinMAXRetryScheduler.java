@@ -0,0 +1,164 @@
+package com.applovin.applovin_max;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Retries failed ad loads per ad unit with exponential backoff and jitter, so that only the final outcome needs to be reported to Dart.
+ * <p>
+ * Disabled until {@link #setPolicy(int, long, long, double)} is called with a positive number of attempts. Must only be used from the main thread.
+ */
+class AppLovinMAXRetryScheduler
+{
+    private final Handler            handler = new Handler( Looper.getMainLooper() );
+    private final Random             random  = new Random();
+    private final Map<String, Retry> retries = new HashMap<>( 4 );
+
+    private int    maxAttempts;
+    private long   initialDelayMillis = 1000;
+    private long   maxDelayMillis     = 64000;
+    private double jitter             = 0.2;
+
+    private static class Retry
+    {
+        private int      attempts;
+        private int      totalRetries;
+        private int      lastAttemptCount;
+        private Runnable pendingReload;
+    }
+
+    /**
+     * @param maxAttempts        Maximum number of retries after the initial load fails, or 0 to disable retries.
+     * @param initialDelayMillis Delay before the first retry, doubled for every subsequent retry.
+     * @param maxDelayMillis     Upper bound for the delay between retries.
+     * @param jitter             Fraction by which each delay is randomly shortened or lengthened, between 0 and 1.
+     */
+    void setPolicy(final int maxAttempts, final long initialDelayMillis, final long maxDelayMillis, final double jitter)
+    {
+        this.maxAttempts = Math.max( maxAttempts, 0 );
+        this.initialDelayMillis = Math.max( initialDelayMillis, 0 );
+        this.maxDelayMillis = Math.max( maxDelayMillis, this.initialDelayMillis );
+        this.jitter = Math.min( Math.max( jitter, 0 ), 1 );
+
+        if ( this.maxAttempts == 0 )
+        {
+            cancelAll();
+        }
+    }
+
+    /**
+     * Schedules {@code reload} if the ad unit has retries left.
+     *
+     * @return {@code true} if a retry was scheduled and the failure should not be reported yet.
+     */
+    boolean onLoadFailed(final String adUnitId, final Runnable reload)
+    {
+        if ( maxAttempts == 0 ) return false;
+
+        Retry retry = retries.get( adUnitId );
+        if ( retry == null )
+        {
+            retry = new Retry();
+            retries.put( adUnitId, retry );
+        }
+
+        // Another failure of the ad unit, e.g. of a second pool slot, is retried by the reload already pending instead of using up another attempt
+        if ( retry.pendingReload != null ) return true;
+
+        if ( retry.attempts >= maxAttempts )
+        {
+            finish( retry );
+            return false;
+        }
+
+        retry.attempts++;
+        retry.totalRetries++;
+
+        final long delayMillis = getDelayMillis( retry.attempts );
+        final Retry scheduledRetry = retry;
+        retry.pendingReload = () -> {
+            scheduledRetry.pendingReload = null;
+            reload.run();
+        };
+
+        AppLovinMAX.d( "Retrying load for ad unit id \"" + adUnitId + "\" in " + delayMillis + "ms (attempt " + retry.attempts + " of " + maxAttempts + ")" );
+
+        handler.postDelayed( retry.pendingReload, delayMillis );
+
+        return true;
+    }
+
+    void onLoadSucceeded(final String adUnitId)
+    {
+        final Retry retry = retries.get( adUnitId );
+        if ( retry != null )
+        {
+            finish( retry );
+        }
+    }
+
+    /**
+     * Cancels any pending retry for the ad unit, e.g. because it was destroyed or shown.
+     */
+    void cancel(final String adUnitId)
+    {
+        final Retry retry = retries.get( adUnitId );
+        if ( retry != null )
+        {
+            cancelPendingReload( retry );
+            retry.attempts = 0;
+        }
+    }
+
+    void cancelAll()
+    {
+        for ( Retry retry : retries.values() )
+        {
+            cancelPendingReload( retry );
+            retry.attempts = 0;
+        }
+    }
+
+    Map<String, Object> getStats(final String adUnitId)
+    {
+        final Retry retry = retries.get( adUnitId );
+
+        final Map<String, Object> stats = new HashMap<>( 4 );
+        stats.put( "adUnitId", adUnitId );
+        stats.put( "currentAttempt", retry != null ? retry.attempts : 0 );
+        stats.put( "lastAttemptCount", retry != null ? retry.lastAttemptCount : 0 );
+        stats.put( "totalRetries", retry != null ? retry.totalRetries : 0 );
+        stats.put( "isRetryPending", retry != null && retry.pendingReload != null );
+
+        return stats;
+    }
+
+    private void finish(final Retry retry)
+    {
+        cancelPendingReload( retry );
+        retry.lastAttemptCount = retry.attempts;
+        retry.attempts = 0;
+    }
+
+    private void cancelPendingReload(final Retry retry)
+    {
+        if ( retry.pendingReload != null )
+        {
+            handler.removeCallbacks( retry.pendingReload );
+            retry.pendingReload = null;
+        }
+    }
+
+    private long getDelayMillis(final int attempt)
+    {
+        // Cap the exponent so the shift cannot overflow
+        final long baseDelayMillis = Math.min( maxDelayMillis, initialDelayMillis << Math.min( attempt - 1, 20 ) );
+        final double jitterFactor = 1 + jitter * ( random.nextDouble() * 2 - 1 );
+
+        return Math.round( baseDelayMillis * jitterFactor );
+    }
+}
@@ -0,0 +1,455 @@
+package com.applovin.applovin_max;
+
+import com.applovin.mediation.MaxAd;
+import com.applovin.sdk.AppLovinSdkUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+/**
+ * Append-only on-device journal of impression-level ad revenue, so that revenue is not lost if Dart is busy or the engine is detached when the ad is paid for.
+ * <p>
+ * The file starts with a 16 byte header (magic, version, cursor of the first record) followed by records of the form {@code [payload length][payload][CRC32]},
+ * all little-endian. Records are read in batches from a cursor, which is the logical offset of a record and stays valid across compactions. Once pub
+ * acknowledges a cursor, all records before it are dropped. A torn record at the end of the file, e.g. after a crash, is discarded when the journal is opened.
+ * <p>
+ * All I/O happens on a dedicated background thread, results are reported on the main thread. Every record is forced to storage once appended.
+ */
+class AppLovinMAXRevenueJournal
+{
+    private static final int     MAGIC           = 0x4a524c41; // "ALRJ"
+    private static final int     VERSION         = 1;
+    private static final int     HEADER_SIZE     = 16;
+    private static final int     MAX_RECORD_SIZE = 4096;
+    private static final Charset UTF_8           = Charset.forName( "UTF-8" );
+
+    private final File            file;
+    private final Executor        resultExecutor;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ByteBuffer      buffer   = ByteBuffer.allocate( MAX_RECORD_SIZE + 8 ).order( ByteOrder.LITTLE_ENDIAN );
+    private final CRC32           crc      = new CRC32();
+
+    // Only accessed on the executor
+    @Nullable
+    private RandomAccessFile randomAccessFile;
+    @Nullable
+    private FileChannel      channel;
+    private long             baseCursor;
+    private long             endPosition;
+
+    AppLovinMAXRevenueJournal(final File file)
+    {
+        this( file, AppLovinSdkUtils::runOnUiThread );
+    }
+
+    /**
+     * @param resultExecutor Runs the callbacks that report results, which is the main thread outside of tests.
+     */
+    AppLovinMAXRevenueJournal(final File file, final Executor resultExecutor)
+    {
+        this.file = file;
+        this.resultExecutor = resultExecutor;
+
+        executor.execute( this::open );
+    }
+
+    void append(final MaxAd ad)
+    {
+        final long timestampMillis = System.currentTimeMillis();
+        final double revenue = ad.getRevenue();
+        final String adUnitId = ad.getAdUnitId();
+        final String adFormat = ad.getFormat().getLabel();
+        final String networkName = ad.getNetworkName();
+        final String placement = ad.getPlacement();
+        final String dspName = ad.getDspName();
+
+        executor.execute( () -> {
+
+            if ( channel == null ) return;
+
+            try
+            {
+                buffer.clear();
+                buffer.putInt( 0 ); // Payload length, filled in below
+                buffer.putLong( timestampMillis );
+                buffer.putDouble( revenue );
+                putString( adUnitId );
+                putString( adFormat );
+                putString( networkName );
+                putString( placement );
+                putString( dspName );
+
+                final int payloadLength = buffer.position() - 4;
+                crc.reset();
+                crc.update( buffer.array(), 4, payloadLength );
+                buffer.putInt( (int) crc.getValue() );
+                buffer.putInt( 0, payloadLength );
+                buffer.flip();
+
+                writeFully( channel, buffer, endPosition );
+                channel.force( false );
+                endPosition += buffer.limit();
+            }
+            catch ( BufferOverflowException ex )
+            {
+                AppLovinMAX.e( "Unable to journal revenue for ad unit id \"" + adUnitId + "\" - record too large" );
+            }
+            catch ( IOException ex )
+            {
+                AppLovinMAX.e( "Unable to journal revenue for ad unit id \"" + adUnitId + "\": " + ex );
+            }
+        } );
+    }
+
+    /**
+     * Reports up to {@code maxRecords} records starting at {@code cursor}, along with the cursor to continue reading from and whether more records follow.
+     * The cursor must be 0 or a cursor reported by an earlier read.
+     */
+    void read(final long cursor, final int maxRecords, final Result result)
+    {
+        if ( maxRecords < 0 )
+        {
+            result.error( "INVALID_ARGUMENTS", "maxRecords must not be negative: " + maxRecords, null );
+            return;
+        }
+
+        executor.execute( () -> {
+
+            if ( channel == null )
+            {
+                reportError( result, "Revenue journal is not available" );
+                return;
+            }
+
+            try
+            {
+                // Records before the first cursor have been acknowledged already
+                long position = Math.max( cursor, baseCursor ) - baseCursor + HEADER_SIZE;
+
+                // Reading from the middle of a record would never make progress
+                if ( position > endPosition || ( position > HEADER_SIZE && position < endPosition && readRecord( position ) < 0 ) )
+                {
+                    reportInvalidCursor( result, cursor );
+                    return;
+                }
+
+                final List<Map<String, Object>> records = new ArrayList<>( Math.min( maxRecords, 64 ) );
+                while ( records.size() < maxRecords && position < endPosition )
+                {
+                    final int payloadLength = readRecord( position );
+                    if ( payloadLength < 0 ) break;
+
+                    records.add( decodeRecord() );
+                    position += payloadLength + 8;
+                }
+
+                final Map<String, Object> batch = new HashMap<>( 3 );
+                batch.put( "records", records );
+                batch.put( "nextCursor", position - HEADER_SIZE + baseCursor );
+                batch.put( "hasMore", position < endPosition );
+
+                resultExecutor.execute( () -> result.success( batch ) );
+            }
+            catch ( IOException ex )
+            {
+                reportError( result, ex.toString() );
+            }
+        } );
+    }
+
+    /**
+     * Drops all records before {@code cursor}, which must be a cursor reported by {@link #read(long, int, Result)}, and reports the number of bytes released.
+     */
+    void acknowledge(final long cursor, final Result result)
+    {
+        executor.execute( () -> {
+
+            if ( channel == null )
+            {
+                reportError( result, "Revenue journal is not available" );
+                return;
+            }
+
+            try
+            {
+                final long ackPosition = Math.min( cursor - baseCursor + HEADER_SIZE, endPosition );
+                if ( ackPosition <= HEADER_SIZE )
+                {
+                    resultExecutor.execute( () -> result.success( 0L ) );
+                    return;
+                }
+
+                if ( ackPosition < endPosition && readRecord( ackPosition ) < 0 )
+                {
+                    reportInvalidCursor( result, cursor );
+                    return;
+                }
+
+                final long releasedBytes = ackPosition - HEADER_SIZE;
+                compact( ackPosition );
+
+                resultExecutor.execute( () -> result.success( releasedBytes ) );
+            }
+            catch ( IOException ex )
+            {
+                reportError( result, ex.toString() );
+            }
+        } );
+    }
+
+    void close()
+    {
+        executor.execute( this::closeFile );
+        executor.shutdown();
+    }
+
+    private void open()
+    {
+        try
+        {
+            final File directory = file.getParentFile();
+            if ( directory != null && !directory.exists() && !directory.mkdirs() )
+            {
+                throw new IOException( "Unable to create " + directory );
+            }
+
+            randomAccessFile = new RandomAccessFile( file, "rw" );
+            channel = randomAccessFile.getChannel();
+
+            final long size = channel.size();
+            if ( size >= HEADER_SIZE )
+            {
+                buffer.clear();
+                buffer.limit( HEADER_SIZE );
+                readFully( channel, buffer, 0 );
+                buffer.flip();
+
+                if ( buffer.getInt() == MAGIC && buffer.getInt() == VERSION )
+                {
+                    baseCursor = buffer.getLong();
+                    endPosition = HEADER_SIZE;
+
+                    // Find the end of the last intact record
+                    int payloadLength;
+                    while ( endPosition < size && ( payloadLength = readRecord( endPosition ) ) >= 0 )
+                    {
+                        endPosition += payloadLength + 8;
+                    }
+
+                    if ( endPosition < size )
+                    {
+                        AppLovinMAX.w( "Discarding " + ( size - endPosition ) + " bytes of torn records from the revenue journal" );
+                        channel.truncate( endPosition );
+                    }
+
+                    return;
+                }
+
+                AppLovinMAX.w( "Discarding revenue journal with unknown format" );
+            }
+
+            channel.truncate( 0 );
+            writeHeader( channel, 0 );
+            baseCursor = 0;
+            endPosition = HEADER_SIZE;
+        }
+        catch ( IOException ex )
+        {
+            AppLovinMAX.e( "Unable to open revenue journal: " + ex );
+            closeFile();
+        }
+    }
+
+    private void compact(final long ackPosition) throws IOException
+    {
+        final long newBaseCursor = baseCursor + ackPosition - HEADER_SIZE;
+
+        if ( ackPosition == endPosition )
+        {
+            // Everything was acknowledged, no records need to be kept
+            channel.truncate( HEADER_SIZE );
+            writeHeader( channel, newBaseCursor );
+            channel.force( false );
+        }
+        else
+        {
+            // Copy the remaining records to a new file, which atomically replaces the journal
+            final File compactedFile = new File( file.getPath() + ".tmp" );
+            try ( RandomAccessFile compactedRandomAccessFile = new RandomAccessFile( compactedFile, "rw" ) )
+            {
+                final FileChannel compactedChannel = compactedRandomAccessFile.getChannel();
+                compactedChannel.truncate( 0 );
+                writeHeader( compactedChannel, newBaseCursor );
+
+                final long count = endPosition - ackPosition;
+                long transferred = 0;
+                while ( transferred < count )
+                {
+                    transferred += channel.transferTo( ackPosition + transferred, count - transferred, compactedChannel.position( HEADER_SIZE + transferred ) );
+                }
+
+                compactedChannel.force( false );
+            }
+
+            closeFile();
+            final boolean isReplaced = compactedFile.renameTo( file );
+
+            // Keep journaling to the uncompacted file if it could not be replaced, its records are released by a later acknowledgement instead
+            randomAccessFile = new RandomAccessFile( file, "rw" );
+            channel = randomAccessFile.getChannel();
+
+            if ( !isReplaced )
+            {
+                compactedFile.delete();
+
+                AppLovinMAX.e( "Unable to replace revenue journal with its compacted copy, keeping the uncompacted journal" );
+                throw new IOException( "Unable to replace " + file );
+            }
+        }
+
+        endPosition = HEADER_SIZE + endPosition - ackPosition;
+        baseCursor = newBaseCursor;
+    }
+
+    /**
+     * Reads and verifies the record at {@code position} into the buffer, positioned at the start of its payload.
+     *
+     * @return The payload length, or -1 if there is no intact record at {@code position}.
+     */
+    private int readRecord(final long position) throws IOException
+    {
+        buffer.clear();
+        buffer.limit( 4 );
+        if ( channel.read( buffer, position ) < 4 ) return -1;
+
+        final int payloadLength = buffer.getInt( 0 );
+        if ( payloadLength <= 0 || payloadLength > MAX_RECORD_SIZE ) return -1;
+
+        buffer.clear();
+        buffer.limit( payloadLength + 4 );
+        while ( buffer.hasRemaining() )
+        {
+            if ( channel.read( buffer, position + 4 + buffer.position() ) < 0 ) return -1;
+        }
+
+        crc.reset();
+        crc.update( buffer.array(), 0, payloadLength );
+        if ( (int) crc.getValue() != buffer.getInt( payloadLength ) ) return -1;
+
+        buffer.flip();
+        return payloadLength;
+    }
+
+    private Map<String, Object> decodeRecord()
+    {
+        final Map<String, Object> record = new HashMap<>( 7 );
+        record.put( "timestampMillis", buffer.getLong() );
+        record.put( "revenue", buffer.getDouble() );
+        record.put( "adUnitId", getString() );
+        record.put( "adFormat", getString() );
+        record.put( "networkName", getString() );
+        record.put( "placement", getString() );
+        record.put( "dspName", getString() );
+
+        return record;
+    }
+
+    private void putString(@Nullable final String value)
+    {
+        if ( value == null )
+        {
+            buffer.putShort( (short) -1 );
+            return;
+        }
+
+        final byte[] bytes = value.getBytes( UTF_8 );
+        if ( bytes.length > Short.MAX_VALUE ) throw new BufferOverflowException();
+
+        buffer.putShort( (short) bytes.length );
+        buffer.put( bytes );
+    }
+
+    @Nullable
+    private String getString()
+    {
+        final short length = buffer.getShort();
+        if ( length < 0 ) return null;
+
+        final String value = new String( buffer.array(), buffer.position(), length, UTF_8 );
+        buffer.position( buffer.position() + length );
+
+        return value;
+    }
+
+    private static void writeHeader(final FileChannel channel, final long baseCursor) throws IOException
+    {
+        final ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE ).order( ByteOrder.LITTLE_ENDIAN );
+        header.putInt( MAGIC );
+        header.putInt( VERSION );
+        header.putLong( baseCursor );
+        header.flip();
+
+        writeFully( channel, header, 0 );
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer source, final long position) throws IOException
+    {
+        long writePosition = position;
+        while ( source.hasRemaining() )
+        {
+            writePosition += channel.write( source, writePosition );
+        }
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer destination, final long position) throws IOException
+    {
+        long readPosition = position;
+        while ( destination.hasRemaining() )
+        {
+            final int read = channel.read( destination, readPosition );
+            if ( read < 0 ) throw new IOException( "Unexpected end of revenue journal" );
+
+            readPosition += read;
+        }
+    }
+
+    private void closeFile()
+    {
+        try
+        {
+            if ( randomAccessFile != null ) randomAccessFile.close();
+        }
+        catch ( IOException ignored ) { }
+
+        randomAccessFile = null;
+        channel = null;
+    }
+
+    private void reportInvalidCursor(final Result result, final long cursor)
+    {
+        resultExecutor.execute( () -> result.error( "INVALID_CURSOR", "Cursor does not point at a record: " + cursor, null ) );
+    }
+
+    private void reportError(final Result result, final String message)
+    {
+        AppLovinMAX.e( "Revenue journal error: " + message );
+        resultExecutor.execute( () -> result.error( "REVENUE_JOURNAL_ERROR", message, null ) );
+    }
+}
@@ -0,0 +1,222 @@
+package com.applovin.applovin_max;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+/**
+ * Records method calls and callbacks in a preallocated ring buffer, so that tracing does not allocate per call.
+ * <p>
+ * Each entry holds the method name, argument size, how long the handler ran, and for method calls how long until the result was reported.
+ * Handlers running longer than the frame budget are flagged and logged. Slots are claimed with an atomic counter, once the buffer is full
+ * the oldest entries are overwritten.
+ */
+class AppLovinMAXTracer
+{
+    static final int TYPE_METHOD_CALL = 0;
+    static final int TYPE_CALLBACK    = 1;
+
+    private static final String[] TYPE_NAMES = { "methodCall", "callback" };
+
+    /**
+     * A trace entry, which doubles as the {@link Result} of the traced method call to record when the result is reported.
+     */
+    private static class Slot
+            implements Result
+    {
+        private volatile long sequence = -1;
+        private int           type;
+        private String        method;
+        private int           argumentSize;
+        private long          startNanos;
+        private long          durationNanos;
+        private long          resultDelayNanos;
+
+        // The result of the method call this slot is reporting for, which may be an earlier call than the one currently recorded
+        @Nullable
+        private Result delegate;
+        private long   delegateSequence;
+
+        @Override
+        public void success(@Nullable final Object result)
+        {
+            final Result delegate = complete();
+            if ( delegate != null ) delegate.success( result );
+        }
+
+        @Override
+        public void error(final String errorCode, @Nullable final String errorMessage, @Nullable final Object errorDetails)
+        {
+            final Result delegate = complete();
+            if ( delegate != null ) delegate.error( errorCode, errorMessage, errorDetails );
+        }
+
+        @Override
+        public void notImplemented()
+        {
+            final Result delegate = complete();
+            if ( delegate != null ) delegate.notImplemented();
+        }
+
+        @Nullable
+        private Result complete()
+        {
+            if ( delegateSequence == sequence )
+            {
+                resultDelayNanos = System.nanoTime() - startNanos;
+            }
+
+            final Result result = delegate;
+            delegate = null;
+
+            return result;
+        }
+    }
+
+    private final Slot[]     slots;
+    private final int        mask;
+    private final long       frameBudgetNanos;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    private int overBudgetCount;
+
+    /**
+     * @param capacity          Number of entries kept, rounded up to a power of two.
+     * @param frameBudgetMillis Handlers running longer than this are flagged.
+     */
+    AppLovinMAXTracer(final int capacity, final double frameBudgetMillis)
+    {
+        int size = 1;
+        while ( size < capacity )
+        {
+            size <<= 1;
+        }
+
+        slots = new Slot[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            slots[i] = new Slot();
+        }
+
+        mask = size - 1;
+        frameBudgetNanos = (long) ( frameBudgetMillis * 1000000 );
+    }
+
+    /**
+     * @return The sequence number of the new entry, to be passed to {@link #end(long)}.
+     */
+    long begin(final int type, final String method, @Nullable final Object arguments)
+    {
+        final long sequence = nextSequence.getAndIncrement();
+        final Slot slot = slots[(int) ( sequence & mask )];
+
+        slot.type = type;
+        slot.method = method;
+        slot.argumentSize = getArgumentSize( arguments );
+        slot.durationNanos = -1;
+        slot.resultDelayNanos = -1;
+        slot.startNanos = System.nanoTime();
+        slot.sequence = sequence;
+
+        return sequence;
+    }
+
+    /**
+     * @return A result recording when it is reported, or {@code result} itself if the slot is still waiting for the result of an overwritten entry.
+     */
+    Result getResult(final long sequence, final Result result)
+    {
+        final Slot slot = slots[(int) ( sequence & mask )];
+        if ( slot.delegate != null ) return result;
+
+        slot.delegate = result;
+        slot.delegateSequence = sequence;
+
+        return slot;
+    }
+
+    void end(final long sequence)
+    {
+        final Slot slot = slots[(int) ( sequence & mask )];
+        if ( slot.sequence != sequence ) return;
+
+        slot.durationNanos = System.nanoTime() - slot.startNanos;
+
+        if ( slot.durationNanos > frameBudgetNanos )
+        {
+            overBudgetCount++;
+            AppLovinMAX.w( TYPE_NAMES[slot.type] + " " + slot.method + " took " + slot.durationNanos / 1000000.0 + "ms, exceeding the frame budget" );
+        }
+    }
+
+    /**
+     * @return The recorded entries, oldest first.
+     */
+    List<Map<String, Object>> getEntries()
+    {
+        final long endSequence = nextSequence.get();
+        final long startSequence = Math.max( 0, endSequence - slots.length );
+
+        final List<Map<String, Object>> entries = new ArrayList<>( (int) ( endSequence - startSequence ) );
+        for ( long sequence = startSequence; sequence < endSequence; sequence++ )
+        {
+            final Slot slot = slots[(int) ( sequence & mask )];
+            if ( slot.sequence != sequence || slot.durationNanos < 0 ) continue;
+
+            final Map<String, Object> entry = new HashMap<>( 7 );
+            entry.put( "type", TYPE_NAMES[slot.type] );
+            entry.put( "method", slot.method );
+            entry.put( "argumentSize", slot.argumentSize );
+            entry.put( "startMillis", slot.startNanos / 1000000.0 );
+            entry.put( "durationMillis", slot.durationNanos / 1000000.0 );
+            entry.put( "resultMillis", slot.resultDelayNanos >= 0 ? slot.resultDelayNanos / 1000000.0 : null );
+            entry.put( "isOverFrameBudget", slot.durationNanos > frameBudgetNanos );
+
+            entries.add( entry );
+        }
+
+        return entries;
+    }
+
+    /**
+     * @return The recorded entries as CSV, oldest first.
+     */
+    String toCsv()
+    {
+        final StringBuilder csv = new StringBuilder( "type,method,argumentSize,startMillis,durationMillis,resultMillis,isOverFrameBudget\n" );
+        for ( Map<String, Object> entry : getEntries() )
+        {
+            csv.append( entry.get( "type" ) ).append( ',' )
+                    .append( entry.get( "method" ) ).append( ',' )
+                    .append( entry.get( "argumentSize" ) ).append( ',' )
+                    .append( entry.get( "startMillis" ) ).append( ',' )
+                    .append( entry.get( "durationMillis" ) ).append( ',' )
+                    .append( entry.get( "resultMillis" ) != null ? entry.get( "resultMillis" ) : "" ).append( ',' )
+                    .append( entry.get( "isOverFrameBudget" ) ).append( '\n' );
+        }
+
+        return csv.toString();
+    }
+
+    int getOverBudgetCount()
+    {
+        return overBudgetCount;
+    }
+
+    /**
+     * @return The number of map entries or list elements, the length of a string, or 0 for anything else.
+     */
+    private static int getArgumentSize(@Nullable final Object arguments)
+    {
+        if ( arguments instanceof Map ) return ( (Map<?, ?>) arguments ).size();
+        if ( arguments instanceof List ) return ( (List<?>) arguments ).size();
+        if ( arguments instanceof String ) return ( (String) arguments ).length();
+
+        return 0;
+    }
+}
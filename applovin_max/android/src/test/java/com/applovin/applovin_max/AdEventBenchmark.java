@@ -0,0 +1,76 @@
+package com.applovin.applovin_max;
+
+import com.applovin.mediation.MaxAd;
+import com.applovin.mediation.MaxAdFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Measures building the ad info of an event and encoding it for the channel, as a {@code StandardMessageCodec} params map and in the binary layout.
+ * <p>
+ * Ads are proxies, so each getter costs a reflective dispatch on top of what SDK ads cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdEventBenchmark
+{
+    private final FakeBinaryMessenger messenger = new FakeBinaryMessenger();
+
+    private AppLovinMAX                   plugin;
+    private MethodChannel                 channel;
+    private MaxAd                         ad;
+    private AppLovinMAXAdEventCodec       adEventCodec;
+    private AppLovinMAXAdEventCodec.Event adEvent;
+
+    @Setup
+    public void setUp()
+    {
+        plugin = new AppLovinMAX( null );
+        channel = new MethodChannel( messenger, "applovin_max" );
+        ad = FakeMaxAd.create( "c2d5a8f8e0a1b2c3", MaxAdFormat.INTERSTITIAL );
+
+        adEventCodec = new AppLovinMAXAdEventCodec();
+        adEvent = new AppLovinMAXAdEventCodec.Event();
+        adEvent.tag = AppLovinMAXAdEventCodec.getTag( "OnInterstitialLoadedEvent" );
+        adEvent.adUnitId = ad.getAdUnitId();
+        adEvent.ad = ad;
+    }
+
+    @Benchmark
+    public Map<String, Object> getAdInfo()
+    {
+        return plugin.getAdInfo( ad );
+    }
+
+    @Benchmark
+    public long fireCallback()
+    {
+        plugin.fireCallback( "OnInterstitialLoadedEvent", plugin.getAdInfo( ad ), channel );
+        return messenger.byteCount;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinaryAdEvent()
+    {
+        return adEventCodec.encodeMessage( adEvent );
+    }
+}
@@ -0,0 +1,60 @@
+package com.applovin.applovin_max;
+
+import android.graphics.Point;
+import android.widget.FrameLayout;
+
+import com.applovin.mediation.MaxAdFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving a programmatic ad view position and applying it to the ad view's layout params, as done by {@code positionAdView}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdViewPositionBenchmark
+{
+    @Param({ "top_center", "bottom_right", "centered" })
+    public String position;
+
+    @Param({ "BANNER", "MREC" })
+    public String adFormat;
+
+    private final FrameLayout.LayoutParams params    = new FrameLayout.LayoutParams( FrameLayout.LayoutParams.WRAP_CONTENT, FrameLayout.LayoutParams.WRAP_CONTENT );
+    private final Point                    pixelSize = new Point();
+
+    private MaxAdFormat maxAdFormat;
+
+    @Setup
+    public void setUp()
+    {
+        maxAdFormat = "MREC".equals( adFormat ) ? MaxAdFormat.MREC : MaxAdFormat.BANNER;
+
+        final AppLovinMAX.AdViewSize adViewSize = AppLovinMAX.getAdViewSize( maxAdFormat );
+        pixelSize.x = adViewSize.widthDp * 3;
+        pixelSize.y = adViewSize.heightDp * 3;
+    }
+
+    @Benchmark
+    public int positionAdView()
+    {
+        AppLovinMAX.applyAdViewLayout( params, AppLovinMAXAdViewPosition.parse( position ), pixelSize, maxAdFormat );
+        return params.gravity + params.width;
+    }
+}
@@ -0,0 +1,118 @@
+package com.applovin.applovin_max;
+
+import android.content.ContextWrapper;
+
+import com.applovin.mediation.MaxAdFormat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the ad state changes pushed to the Dart mirror of an engine, which are recorded instead of sent over its channel.
+ */
+public class AppLovinMAXAdStateTest
+{
+    private static final String AD_UNIT_ID = "c2d5a8f8e0a1b2c3";
+
+    private AppLovinMAX     max;
+    private RecordingPlugin engine;
+
+    @Before
+    public void setUp()
+    {
+        max = new AppLovinMAX( new ContextWrapper( null ) );
+
+        engine = new RecordingPlugin();
+        engine.setAdStateUpdatesEnabled( true );
+        max.attachEngine( engine );
+    }
+
+    @Test
+    public void consumedPrewarmedAdThatLoadedMirrorsAsReady()
+    {
+        prewarmInterstitial();
+        max.onAdLoaded( FakeMaxAd.create( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ) );
+        engine.adStateChanges.clear();
+
+        max.loadInterstitial( AD_UNIT_ID );
+
+        // The ad is not loaded again, so it must never be reported as loading
+        assertTrue( engine.adStateChanges.size() > 0 );
+        for ( Map<String, ?> change : engine.adStateChanges )
+        {
+            assertEquals( "loaded", change.get( "loadState" ) );
+            assertEquals( "true", change.get( "isReady" ) );
+        }
+
+        assertEquals( AppLovinMAXAdState.LoadState.LOADED, max.getAdState( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ).loadState );
+    }
+
+    @Test
+    public void consumedPrewarmedAdStillLoadingMirrorsAsLoading()
+    {
+        prewarmInterstitial();
+        engine.adStateChanges.clear();
+
+        max.loadInterstitial( AD_UNIT_ID );
+
+        // The prewarmed load is still in flight, so nothing changes
+        assertEquals( 0, engine.adStateChanges.size() );
+        assertEquals( AppLovinMAXAdState.LoadState.LOADING, max.getAdState( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ).loadState );
+
+        max.onAdLoaded( FakeMaxAd.create( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ) );
+
+        final Map<String, ?> change = engine.adStateChanges.get( engine.adStateChanges.size() - 1 );
+        assertEquals( "loaded", change.get( "loadState" ) );
+        assertEquals( "true", change.get( "isReady" ) );
+    }
+
+    @Test
+    public void adStateChangesGoToOwningEngineOnly()
+    {
+        final RecordingPlugin otherEngine = new RecordingPlugin();
+        otherEngine.setAdStateUpdatesEnabled( true );
+        max.attachEngine( otherEngine );
+
+        max.getAdState( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ).ownerEngine = engine;
+        max.onAdLoaded( FakeMaxAd.create( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ) );
+
+        assertEquals( 1, engine.adStateChanges.size() );
+        assertEquals( 0, otherEngine.adStateChanges.size() );
+
+        // Once the owner detaches, the remaining engines receive the changes
+        max.detachEngine( engine );
+        max.onAdLoaded( FakeMaxAd.create( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL ) );
+
+        assertEquals( 1, engine.adStateChanges.size() );
+        assertEquals( 1, otherEngine.adStateChanges.size() );
+    }
+
+    /**
+     * Puts the interstitial in the state prewarming leaves it in, without loading an ad through the SDK.
+     */
+    private void prewarmInterstitial()
+    {
+        final AppLovinMAXAdState state = max.getAdState( AD_UNIT_ID, MaxAdFormat.INTERSTITIAL );
+        state.isPrewarmed = true;
+        state.loadState = AppLovinMAXAdState.LoadState.LOADING;
+    }
+
+    private static final class RecordingPlugin
+            extends AppLovinMAXPlugin
+    {
+        private final List<Map<String, ?>> adStateChanges = new ArrayList<>();
+
+        @Override
+        void sendEvent(final String name, final Map<String, ?> params)
+        {
+            if ( "OnAdStateChangedEvent".equals( name ) ) adStateChanges.add( params );
+        }
+    }
+}
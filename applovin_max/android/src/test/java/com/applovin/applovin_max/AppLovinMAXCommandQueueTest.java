@@ -0,0 +1,67 @@
+package com.applovin.applovin_max;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.flutter.plugin.common.MethodCall;
+
+import static org.junit.Assert.assertEquals;
+
+public class AppLovinMAXCommandQueueTest
+{
+    private final AppLovinMAXCommandQueue queue = new AppLovinMAXCommandQueue( 8, Collections.<String>emptySet() );
+
+    @Test
+    public void drainFailsThrowingCallAndRunsTheRest()
+    {
+        final FakeResult failingResult = new FakeResult();
+        final FakeResult nextResult = new FakeResult();
+        queue.enqueue( new MethodCall( "loadInterstitial", null ), failingResult, null );
+        queue.enqueue( new MethodCall( "loadRewardedAd", null ), nextResult, null );
+
+        final List<String> ranMethods = new ArrayList<>();
+        queue.drain( (engine, call, result) -> {
+            ranMethods.add( call.method );
+            if ( "loadInterstitial".equals( call.method ) ) throw new IllegalStateException( "no activity" );
+
+            result.success( "loaded" );
+        } );
+
+        assertEquals( 2, ranMethods.size() );
+        assertEquals( "QUEUED_CALL_FAILED", failingResult.value );
+        assertEquals( "loaded", nextResult.value );
+        assertEquals( 0, queue.getStats().get( "size" ) );
+    }
+
+    @Test
+    public void drainDoesNotReplyAgainToCallThatRepliedBeforeThrowing()
+    {
+        final FakeResult result = new FakeResult();
+        queue.enqueue( new MethodCall( "setMuted", null ), result, null );
+
+        queue.drain( (engine, call, callResult) -> {
+            callResult.success( "muted" );
+            throw new IllegalStateException( "after reply" );
+        } );
+
+        assertEquals( "muted", result.value );
+    }
+
+    @Test
+    public void drainRunsCallsForTheEngineThatQueuedThem()
+    {
+        final AppLovinMAXPlugin engine = new AppLovinMAXPlugin();
+        queue.enqueue( new MethodCall( "setBinaryAdEventsEnabled", null ), new FakeResult(), engine );
+        queue.enqueue( new MethodCall( "setMuted", null ), new FakeResult(), null );
+
+        final List<AppLovinMAXPlugin> engines = new ArrayList<>();
+        queue.drain( (callingEngine, call, result) -> engines.add( callingEngine ) );
+
+        assertEquals( 2, engines.size() );
+        assertEquals( engine, engines.get( 0 ) );
+        assertEquals( null, engines.get( 1 ) );
+    }
+}
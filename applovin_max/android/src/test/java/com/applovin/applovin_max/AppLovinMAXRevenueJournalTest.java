@@ -0,0 +1,272 @@
+package com.applovin.applovin_max;
+
+import com.applovin.mediation.MaxAdFormat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the revenue journal against a file in a temporary directory, reporting results on its own background thread.
+ */
+public class AppLovinMAXRevenueJournalTest
+{
+    private static final int HEADER_SIZE = 16;
+
+    private File                      directory;
+    private File                      file;
+    private AppLovinMAXRevenueJournal journal;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = File.createTempFile( "revenue", "journal" );
+        assertTrue( directory.delete() && directory.mkdir() );
+
+        file = new File( directory, "revenue.journal" );
+        journal = new AppLovinMAXRevenueJournal( file, Runnable::run );
+    }
+
+    @After
+    public void tearDown()
+    {
+        journal.close();
+
+        final File[] files = directory.listFiles();
+        if ( files != null )
+        {
+            for ( final File child : files )
+            {
+                child.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void readsAppendedRecordsInBatches()
+    {
+        appendRecords( 3 );
+
+        final Map<String, Object> firstBatch = read( 0, 2 );
+        assertEquals( 2, getRecords( firstBatch ).size() );
+        assertTrue( (Boolean) firstBatch.get( "hasMore" ) );
+        assertEquals( "revenue_test", getRecords( firstBatch ).get( 0 ).get( "adUnitId" ) );
+
+        final Map<String, Object> secondBatch = read( (Long) firstBatch.get( "nextCursor" ), 2 );
+        assertEquals( 1, getRecords( secondBatch ).size() );
+        assertFalse( (Boolean) secondBatch.get( "hasMore" ) );
+        assertEquals( file.length() - HEADER_SIZE, secondBatch.get( "nextCursor" ) );
+    }
+
+    @Test
+    public void discardsTornRecordAtEndWhenOpened() throws IOException
+    {
+        appendRecords( 2 );
+        final long firstRecordEnd = (Long) read( 0, 1 ).get( "nextCursor" );
+
+        // Cut the last record short, as a crash in the middle of writing it would
+        reopen( () -> truncate( file.length() - 3 ) );
+
+        final Map<String, Object> batch = read( 0, 10 );
+        assertEquals( 1, getRecords( batch ).size() );
+        assertEquals( firstRecordEnd, batch.get( "nextCursor" ) );
+        assertEquals( HEADER_SIZE + firstRecordEnd, file.length() );
+
+        // Appending continues after the last intact record
+        appendRecords( 1 );
+        assertEquals( 2, getRecords( read( 0, 10 ) ).size() );
+    }
+
+    @Test
+    public void discardsRecordsFromCrcMismatchWhenOpened() throws IOException
+    {
+        appendRecords( 3 );
+        final long firstRecordEnd = (Long) read( 0, 1 ).get( "nextCursor" );
+
+        // Corrupt the timestamp in the payload of the second record, which invalidates it along with all records after it
+        reopen( () -> flipByte( HEADER_SIZE + firstRecordEnd + 6 ) );
+
+        final Map<String, Object> batch = read( 0, 10 );
+        assertEquals( 1, getRecords( batch ).size() );
+        assertFalse( (Boolean) batch.get( "hasMore" ) );
+        assertEquals( HEADER_SIZE + firstRecordEnd, file.length() );
+    }
+
+    @Test
+    public void compactsAcknowledgedRecords() throws IOException
+    {
+        appendRecords( 3 );
+        final long firstRecordEnd = (Long) read( 0, 1 ).get( "nextCursor" );
+        final long lastRecordEnd = (Long) read( 0, 10 ).get( "nextCursor" );
+
+        assertEquals( firstRecordEnd, acknowledge( firstRecordEnd ) );
+        assertEquals( HEADER_SIZE + lastRecordEnd - firstRecordEnd, file.length() );
+
+        // Cursors stay valid across the compaction, including those of acknowledged records
+        Map<String, Object> batch = read( firstRecordEnd, 10 );
+        assertEquals( 2, getRecords( batch ).size() );
+        assertEquals( lastRecordEnd, batch.get( "nextCursor" ) );
+        assertEquals( 2, getRecords( read( 0, 10 ) ).size() );
+
+        // The first cursor is kept in the header
+        reopen( () -> { } );
+        batch = read( 0, 10 );
+        assertEquals( 2, getRecords( batch ).size() );
+        assertEquals( lastRecordEnd, batch.get( "nextCursor" ) );
+
+        assertEquals( lastRecordEnd - firstRecordEnd, acknowledge( lastRecordEnd ) );
+        assertEquals( HEADER_SIZE, file.length() );
+        assertEquals( 0, getRecords( read( 0, 10 ) ).size() );
+    }
+
+    @Test
+    public void rejectsCursorNotAtRecord()
+    {
+        appendRecords( 2 );
+        final long lastRecordEnd = (Long) read( 0, 10 ).get( "nextCursor" );
+
+        assertEquals( "INVALID_CURSOR", call( result -> journal.read( 1, 10, result ) ) );
+        assertEquals( "INVALID_CURSOR", call( result -> journal.read( lastRecordEnd + 1, 10, result ) ) );
+        assertEquals( "INVALID_CURSOR", call( result -> journal.acknowledge( 1, result ) ) );
+    }
+
+    @Test
+    public void rejectsNegativeMaxRecords()
+    {
+        appendRecords( 1 );
+
+        assertEquals( "INVALID_ARGUMENTS", call( result -> journal.read( 0, -1, result ) ) );
+        assertEquals( 0, getRecords( read( 0, 0 ) ).size() );
+    }
+
+    private void appendRecords(final int count)
+    {
+        for ( int i = 0; i < count; i++ )
+        {
+            journal.append( FakeMaxAd.create( "revenue_test", MaxAdFormat.INTERSTITIAL ) );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> read(final long cursor, final int maxRecords)
+    {
+        return (Map<String, Object>) call( result -> journal.read( cursor, maxRecords, result ) );
+    }
+
+    private long acknowledge(final long cursor)
+    {
+        return (Long) call( result -> journal.acknowledge( cursor, result ) );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> getRecords(final Map<String, Object> batch)
+    {
+        return (List<Map<String, Object>>) batch.get( "records" );
+    }
+
+    /**
+     * Closes the journal, modifies its file and opens it again. The journal is idle when this is called, since every operation is awaited.
+     */
+    private void reopen(final FileModification modification) throws IOException
+    {
+        journal.close();
+        modification.run();
+        journal = new AppLovinMAXRevenueJournal( file, Runnable::run );
+    }
+
+    private void truncate(final long length) throws IOException
+    {
+        try ( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) )
+        {
+            randomAccessFile.setLength( length );
+        }
+    }
+
+    private void flipByte(final long position) throws IOException
+    {
+        try ( RandomAccessFile randomAccessFile = new RandomAccessFile( file, "rw" ) )
+        {
+            randomAccessFile.seek( position );
+            final int value = randomAccessFile.read();
+            randomAccessFile.seek( position );
+            randomAccessFile.write( value ^ 0xff );
+        }
+    }
+
+    /**
+     * Makes a call that reports to a result and waits for it, returning the value or the error code.
+     */
+    @Nullable
+    private static Object call(final ResultCall resultCall)
+    {
+        final AwaitedResult result = new AwaitedResult();
+        resultCall.run( result );
+
+        try
+        {
+            assertTrue( "Timed out waiting for the result", result.latch.await( 5, TimeUnit.SECONDS ) );
+        }
+        catch ( InterruptedException ex )
+        {
+            throw new AssertionError( ex );
+        }
+
+        return result.value;
+    }
+
+    private interface ResultCall
+    {
+        void run(Result result);
+    }
+
+    private interface FileModification
+    {
+        void run() throws IOException;
+    }
+
+    private static final class AwaitedResult
+            implements Result
+    {
+        private final CountDownLatch latch = new CountDownLatch( 1 );
+
+        @Nullable
+        private volatile Object value;
+
+        @Override
+        public void success(@Nullable final Object result)
+        {
+            value = result;
+            latch.countDown();
+        }
+
+        @Override
+        public void error(final String errorCode, @Nullable final String errorMessage, @Nullable final Object errorDetails)
+        {
+            value = errorCode;
+            latch.countDown();
+        }
+
+        @Override
+        public void notImplemented()
+        {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.applovin.applovin_max;
+
+import java.nio.ByteBuffer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.BinaryMessenger;
+
+/**
+ * Stand-in for the Flutter engine, counting the messages sent over channels instead of delivering them.
+ */
+final class FakeBinaryMessenger
+        implements BinaryMessenger
+{
+    int  messageCount;
+    long byteCount;
+
+    @Override
+    public void send(@NonNull final String channel, @Nullable final ByteBuffer message)
+    {
+        send( channel, message, null );
+    }
+
+    @Override
+    public void send(@NonNull final String channel, @Nullable final ByteBuffer message, @Nullable final BinaryReply callback)
+    {
+        messageCount++;
+
+        // Codecs hand over their buffer positioned at the end of the message
+        if ( message != null ) byteCount += message.position();
+    }
+
+    @Override
+    public void setMessageHandler(@NonNull final String channel, @Nullable final BinaryMessageHandler handler) { }
+}
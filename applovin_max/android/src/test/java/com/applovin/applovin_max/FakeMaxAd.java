@@ -0,0 +1,58 @@
+package com.applovin.applovin_max;
+
+import com.applovin.mediation.MaxAd;
+import com.applovin.mediation.MaxAdFormat;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-in for ads delivered by the SDK, answering the getters used by the plugin with fixed values and everything else with defaults.
+ * <p>
+ * Implemented as a proxy so that it does not break when the SDK adds methods to {@link MaxAd}.
+ */
+final class FakeMaxAd
+{
+    private FakeMaxAd() { }
+
+    static MaxAd create(final String adUnitId, final MaxAdFormat adFormat)
+    {
+        return (MaxAd) Proxy.newProxyInstance( MaxAd.class.getClassLoader(), new Class<?>[] { MaxAd.class }, (proxy, method, args) -> {
+            switch ( method.getName() )
+            {
+                case "getAdUnitId":
+                    return adUnitId;
+                case "getFormat":
+                    return adFormat;
+                case "getNetworkName":
+                    return "AppLovin";
+                case "getPlacement":
+                    return "home_screen";
+                case "getCreativeId":
+                    return "12345678";
+                case "getDspName":
+                    return null;
+                case "getRevenue":
+                    return 0.0125;
+                case "hashCode":
+                    return System.identityHashCode( proxy );
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "FakeMaxAd{adUnitId=" + adUnitId + "}";
+                default:
+                    return getDefaultValue( method.getReturnType() );
+            }
+        } );
+    }
+
+    private static Object getDefaultValue(final Class<?> type)
+    {
+        if ( type == boolean.class ) return false;
+        if ( type == int.class ) return 0;
+        if ( type == long.class ) return 0L;
+        if ( type == float.class ) return 0f;
+        if ( type == double.class ) return 0.0;
+
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.applovin.applovin_max;
+
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.MethodChannel.Result;
+
+/**
+ * Stand-in for the result of a method call, keeping the last reported value.
+ */
+final class FakeResult
+        implements Result
+{
+    @Nullable
+    Object value;
+
+    @Override
+    public void success(@Nullable final Object result)
+    {
+        value = result;
+    }
+
+    @Override
+    public void error(final String errorCode, @Nullable final String errorMessage, @Nullable final Object errorDetails)
+    {
+        value = errorCode;
+    }
+
+    @Override
+    public void notImplemented()
+    {
+        value = null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.applovin.applovin_max;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
+
+/**
+ * Measures routing a method call to its handler, through the plugin and through the handler registry compared to the if/else chain it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MethodCallDispatchBenchmark
+{
+    // Methods in the order of the if/else chain onMethodCall() used before routing through the handler registry
+    private static final String[] IF_ELSE_METHODS = {
+            "initialize", "isInitialized", "isTablet", "showMediationDebugger", "getConsentDialogState", "setHasUserConsent", "hasUserConsent",
+            "setIsAgeRestrictedUser", "isAgeRestrictedUser", "setDoNotSell", "isDoNotSell", "setUserId", "setMuted", "setVerboseLogging",
+            "setTestDeviceAdvertisingIds", "createBanner", "setBannerBackgroundColor", "setBannerPlacement", "updateBannerPosition",
+            "setBannerExtraParameter", "showBanner", "hideBanner", "destroyBanner", "createMRec", "setMRecPlacement", "updateMRecPosition",
+            "showMRec", "hideMRec", "destroyMRec", "loadInterstitial", "isInterstitialReady", "showInterstitial", "setInterstitialExtraParameter",
+            "loadRewardedAd", "isRewardedAdReady", "showRewardedAd", "setRewardedAdExtraParameter"
+    };
+
+    // First, middle and last method of the if/else chain
+    @Param({ "initialize", "setMuted", "setRewardedAdExtraParameter" })
+    public String method;
+
+    private final FakeResult                     result   = new FakeResult();
+    private final MethodCallHandler              handler  = (call, result) -> result.success( null );
+    private final MethodCallHandler[]            handlers = new MethodCallHandler[IF_ELSE_METHODS.length];
+    private final Map<String, MethodCallHandler> registry = new HashMap<>( 64 );
+
+    private AppLovinMAX       plugin;
+    private AppLovinMAXPlugin engine;
+    private MethodCall        isInitializedCall;
+    private char[]            methodChars;
+
+    @Setup
+    public void setUp()
+    {
+        plugin = new AppLovinMAX( null );
+        engine = new AppLovinMAXPlugin();
+        isInitializedCall = new MethodCall( "isInitialized", null );
+
+        for ( int i = 0; i < IF_ELSE_METHODS.length; i++ )
+        {
+            handlers[i] = handler;
+            registry.put( IF_ELSE_METHODS[i], handler );
+        }
+
+        methodChars = method.toCharArray();
+    }
+
+    @Benchmark
+    public Object pluginOnMethodCall()
+    {
+        plugin.onMethodCall( engine, isInitializedCall, result );
+        return result.value;
+    }
+
+    @Benchmark
+    public Object registryLookup()
+    {
+        // Method names decoded from the channel are new strings, without an identity match or cached hash code
+        final MethodCall call = new MethodCall( new String( methodChars ), null );
+
+        final MethodCallHandler methodHandler = registry.get( call.method );
+        if ( methodHandler != null ) methodHandler.onMethodCall( call, result );
+
+        return result.value;
+    }
+
+    @Benchmark
+    public Object ifElseChain()
+    {
+        final MethodCall call = new MethodCall( new String( methodChars ), null );
+
+        for ( int i = 0; i < IF_ELSE_METHODS.length; i++ )
+        {
+            if ( IF_ELSE_METHODS[i].equals( call.method ) )
+            {
+                handlers[i].onMethodCall( call, result );
+                break;
+            }
+        }
+
+        return result.value;
+    }
+}
@@ -492,10 +492,10 @@ static FlutterMethodChannel *ALSharedChannel;
         return;
     }
     
-    // TODO: Add "code", "message", and "adLoadFailureInfo"
-    NSString *errorCodeStr = [@(error.code) stringValue];
+    // TODO: Add "adLoadFailureInfo"
     [self sendEventWithName: name body: @{@"adUnitId" : adUnitIdentifier,
-                                          @"errorCode" : errorCodeStr}];
+                                          @"errorCode" : @(error.code),
+                                          @"errorMessage" : error.message ?: @""}];
 }
 
 - (void)didClickAd:(MAAd *)ad
@@ -58,7 +58,8 @@
 {
     [[AppLovinMAX shared] sendEventWithName: @"OnAdViewAdLoadFailedEvent"
                                        body: @{@"adUnitId" : adUnitIdentifier,
-                                               @"errorCode" : [@(error.code) stringValue]}
+                                               @"errorCode" : @(error.code),
+                                               @"errorMessage" : error.message ?: @""}
                                     channel: self.channel];
 }
 
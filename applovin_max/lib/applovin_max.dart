@@ -1,6 +1,9 @@
 import 'package:applovin_max/src/ad_classes.dart';
+import 'package:applovin_max/src/ad_event_codec.dart';
 import 'package:applovin_max/src/ad_listeners.dart';
 import 'package:applovin_max/src/enums.dart';
+import 'package:applovin_max/src/max_ad_view.dart';
+import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
 
 export 'package:applovin_max/src/ad_listeners.dart';
@@ -12,83 +15,55 @@ class AppLovinMAX {
 
   static MethodChannel channel = const MethodChannel('applovin_max');
 
+  // Handles the calls that only read settings off the main thread, Android only
+  static const MethodChannel _backgroundChannel = MethodChannel('applovin_max/background');
+
   static AdViewAdListener? _bannerAdListener;
   static AdViewAdListener? _mrecAdListener;
   static InterstitialListener? _interstitialListener;
   static RewardedAdListener? _rewardedAdListener;
 
+  // Bits of the event subscriptions sent to the native side, by ad event tag of AdEventCodec
+  static const int _bannerEvents = 0x1f;
+  static const int _mrecEvents = 0x1f << 5;
+  static const int _interstitialEvents = 0x3f << 10;
+  static const int _rewardedAdEvents = 0x7f << 16;
+
+  // The event subscriptions last sent to the native side, if any
+  static int? _sentEventSubscriptions;
+
+  // Mirror of the native ad states by ad unit id or ad view handle, kept up to date by the native side while enabled
+  static final Map<String, MaxAdState> _adStates = {};
+  static bool _isAdStateMirrorEnabled = false;
+
+  static final AdEventCodec _adEventCodec = AdEventCodec();
+  static final BasicMessageChannel<dynamic> _adEventChannel = BasicMessageChannel('applovin_max/ad_events', _adEventCodec);
+
+  static MethodChannel _getBackgroundChannel() {
+    return (defaultTargetPlatform == TargetPlatform.android) ? _backgroundChannel : channel;
+  }
+
   static Future<Map?> initialize(String sdkKey) {
     channel.setMethodCallHandler((MethodCall call) async {
       var method = call.method;
       var arguments = call.arguments;
 
-      var adUnitId = arguments["adUnitId"];
-
-      /// Banner Ad Events
-      if ("OnBannerAdLoadedEvent" == method) {
-        _bannerAdListener?.onAdLoadedCallback(createAd(adUnitId, arguments));
-      } else if ("OnBannerAdLoadFailedEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        _bannerAdListener?.onAdLoadFailedCallback(adUnitId, error);
-      } else if ("OnBannerAdClickedEvent" == method) {
-        _bannerAdListener?.onAdClickedCallback(createAd(adUnitId, arguments));
-      } else if ("OnBannerAdExpandedEvent" == method) {
-        _bannerAdListener?.onAdExpandedCallback(createAd(adUnitId, arguments));
-      } else if ("OnBannerAdCollapsedEvent" == method) {
-        _bannerAdListener?.onAdCollapsedCallback(createAd(adUnitId, arguments));
-      }
-
-      /// MREC Ad Events
-      else if ("OnMRecAdLoadedEvent" == method) {
-        _mrecAdListener?.onAdLoadedCallback(createAd(adUnitId, arguments));
-      } else if ("OnMRecAdLoadFailedEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        _mrecAdListener?.onAdLoadFailedCallback(adUnitId, error);
-      } else if ("OnMRecAdClickedEvent" == method) {
-        _mrecAdListener?.onAdClickedCallback(createAd(adUnitId, arguments));
-      } else if ("OnMrecAdExpandedEvent" == method) {
-        _mrecAdListener?.onAdExpandedCallback(createAd(adUnitId, arguments));
-      } else if ("OnMrecAdCollapsedEvent" == method) {
-        _mrecAdListener?.onAdCollapsedCallback(createAd(adUnitId, arguments));
+      // Events coalesced natively are delivered as a flat list of alternating event names and arguments
+      if ("OnBatchedEvents" == method) {
+        for (var i = 0; i + 1 < arguments.length; i += 2) {
+          _handleEvent(arguments[i], arguments[i + 1]);
+        }
+      } else {
+        _handleEvent(method, arguments);
       }
+    });
 
-      /// Interstitial Ad Events
-      else if ("OnInterstitialLoadedEvent" == method) {
-        _interstitialListener?.onAdLoadedCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnInterstitialLoadFailedEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        _interstitialListener?.onAdLoadFailedCallback(adUnitId, error);
-      } else if ("OnInterstitialClickedEvent" == method) {
-        _interstitialListener?.onAdClickedCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnInterstitialDisplayedEvent" == method) {
-        _interstitialListener?.onAdDisplayedCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnInterstitialAdFailedToDisplayEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        _interstitialListener?.onAdDisplayFailedCallback(createAd(adUnitId, arguments), error);
-      } else if ("OnInterstitialHiddenEvent" == method) {
-        _interstitialListener?.onAdHiddenCallback.call(createAd(adUnitId, arguments));
-      }
+    // The native side sends all events until it knows which ones have listeners
+    _sentEventSubscriptions = null;
+    _updateEventSubscriptions();
 
-      /// Rewarded Ad Events
-      else if ("OnRewardedAdLoadedEvent" == method) {
-        _rewardedAdListener?.onAdLoadedCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnRewardedAdLoadFailedEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        _rewardedAdListener?.onAdLoadFailedCallback(adUnitId, error);
-      } else if ("OnRewardedAdClickedEvent" == method) {
-        _rewardedAdListener?.onAdClickedCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnRewardedAdDisplayedEvent" == method) {
-        _rewardedAdListener?.onAdDisplayedCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnRewardedAdFailedToDisplayEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        _rewardedAdListener?.onAdDisplayFailedCallback(createAd(adUnitId, arguments), error);
-      } else if ("OnRewardedAdHiddenEvent" == method) {
-        _rewardedAdListener?.onAdHiddenCallback.call(createAd(adUnitId, arguments));
-      } else if ("OnRewardedAdReceivedRewardEvent" == method) {
-        var reward = MaxReward(int.parse(arguments["rewardAmount"]), arguments["rewardLabel"]);
-        _rewardedAdListener?.onAdReceivedRewardCallback(createAd(adUnitId, arguments), reward);
-      }
-    });
+    // Native sequence numbers may have restarted, so entries mirrored before would hide newer changes
+    _adStates.clear();
 
     return channel.invokeMethod('initialize', {
       'plugin_version': version,
@@ -96,6 +71,120 @@ class AppLovinMAX {
     });
   }
 
+  static void _handleEvent(String method, dynamic arguments) {
+    var adUnitId = arguments["adUnitId"];
+
+    /// Banner Ad Events
+    if ("OnBannerAdLoadedEvent" == method) {
+      _bannerAdListener?.onAdLoadedCallback(createAd(adUnitId, arguments));
+    } else if ("OnBannerAdLoadFailedEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      _bannerAdListener?.onAdLoadFailedCallback(arguments["adViewId"] ?? adUnitId, error);
+    } else if ("OnBannerAdClickedEvent" == method) {
+      _bannerAdListener?.onAdClickedCallback(createAd(adUnitId, arguments));
+    } else if ("OnBannerAdExpandedEvent" == method) {
+      _bannerAdListener?.onAdExpandedCallback(createAd(adUnitId, arguments));
+    } else if ("OnBannerAdCollapsedEvent" == method) {
+      _bannerAdListener?.onAdCollapsedCallback(createAd(adUnitId, arguments));
+    }
+
+    /// MREC Ad Events
+    else if ("OnMRecAdLoadedEvent" == method) {
+      _mrecAdListener?.onAdLoadedCallback(createAd(adUnitId, arguments));
+    } else if ("OnMRecAdLoadFailedEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      _mrecAdListener?.onAdLoadFailedCallback(arguments["adViewId"] ?? adUnitId, error);
+    } else if ("OnMRecAdClickedEvent" == method) {
+      _mrecAdListener?.onAdClickedCallback(createAd(adUnitId, arguments));
+    } else if ("OnMRecAdExpandedEvent" == method) {
+      _mrecAdListener?.onAdExpandedCallback(createAd(adUnitId, arguments));
+    } else if ("OnMRecAdCollapsedEvent" == method) {
+      _mrecAdListener?.onAdCollapsedCallback(createAd(adUnitId, arguments));
+    }
+
+    /// Interstitial Ad Events
+    else if ("OnInterstitialLoadedEvent" == method) {
+      _interstitialListener?.onAdLoadedCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnInterstitialLoadFailedEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      _interstitialListener?.onAdLoadFailedCallback(adUnitId, error);
+    } else if ("OnInterstitialClickedEvent" == method) {
+      _interstitialListener?.onAdClickedCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnInterstitialDisplayedEvent" == method) {
+      _interstitialListener?.onAdDisplayedCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnInterstitialAdFailedToDisplayEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      _interstitialListener?.onAdDisplayFailedCallback(createAd(adUnitId, arguments), error);
+    } else if ("OnInterstitialHiddenEvent" == method) {
+      _interstitialListener?.onAdHiddenCallback.call(createAd(adUnitId, arguments));
+    }
+
+    /// Rewarded Ad Events
+    else if ("OnRewardedAdLoadedEvent" == method) {
+      _rewardedAdListener?.onAdLoadedCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnRewardedAdLoadFailedEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      _rewardedAdListener?.onAdLoadFailedCallback(adUnitId, error);
+    } else if ("OnRewardedAdClickedEvent" == method) {
+      _rewardedAdListener?.onAdClickedCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnRewardedAdDisplayedEvent" == method) {
+      _rewardedAdListener?.onAdDisplayedCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnRewardedAdFailedToDisplayEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      _rewardedAdListener?.onAdDisplayFailedCallback(createAd(adUnitId, arguments), error);
+    } else if ("OnRewardedAdHiddenEvent" == method) {
+      _rewardedAdListener?.onAdHiddenCallback.call(createAd(adUnitId, arguments));
+    } else if ("OnRewardedAdReceivedRewardEvent" == method) {
+      var reward = MaxReward(int.parse(arguments["rewardAmount"]), arguments["rewardLabel"]);
+      _rewardedAdListener?.onAdReceivedRewardCallback(createAd(adUnitId, arguments), reward);
+    }
+
+    /// Ad State Events
+    else if ("OnAdStateChangedEvent" == method) {
+      _updateAdState(arguments);
+    }
+  }
+
+  static void _updateAdState(dynamic arguments) {
+    if (!_isAdStateMirrorEnabled) return;
+
+    String adUnitId = arguments["adUnitId"];
+    var sequence = int.parse(arguments["sequence"]);
+
+    // Changes coalesced into the next frame may arrive after a newer snapshot from getAdStates
+    var current = _adStates[adUnitId];
+    if (current != null && current.sequence >= sequence) return;
+
+    _adStates[adUnitId] = MaxAdState(
+      adUnitId,
+      arguments["adFormat"],
+      arguments["loadState"],
+      "true" == arguments["isReady"],
+      "true" == arguments["isShowing"],
+      sequence,
+    );
+  }
+
+  ///
+  /// Tells the native side which ad events have listeners, so that it does not send the others.
+  ///
+  static void _updateEventSubscriptions() {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    var subscriptions = 0;
+    if (_bannerAdListener != null) subscriptions |= _bannerEvents;
+    if (_mrecAdListener != null) subscriptions |= _mrecEvents;
+    if (_interstitialListener != null) subscriptions |= _interstitialEvents;
+    if (_rewardedAdListener != null) subscriptions |= _rewardedAdEvents;
+
+    if (subscriptions == _sentEventSubscriptions) return;
+
+    _sentEventSubscriptions = subscriptions;
+    channel.invokeMethod('setEventSubscriptions', {
+      'value': subscriptions,
+    });
+  }
+
   static MaxAd createAd(String adUnitId, dynamic arguments) {
     return MaxAd(
       adUnitId,
@@ -104,17 +193,256 @@ class AppLovinMAX {
       arguments["creativeId"],
       arguments["dspName"],
       arguments["placement"],
+      adViewId: arguments["adViewId"],
     );
   }
 
   static Future<bool?> isInitialized() {
-    return channel.invokeMethod('isInitialized');
+    return _getBackgroundChannel().invokeMethod('isInitialized');
+  }
+
+  ///
+  /// Returns how long each phase of [initialize] took in milliseconds: `manifestReadMillis`, `settingsMillis`, `sdkInstanceMillis`,
+  /// `mainThreadHopMillis`, and once the SDK finished initializing `sdkInitializationMillis` and `totalMillis`. Android only.
+  ///
+  static Future<Map?> getInitializationTimings() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getInitializationTimings');
+  }
+
+  ///
+  /// Returns the `size`, `capacity`, `enqueued`, `collapsed` and `rejected` counters of the queue holding calls made before the SDK
+  /// is initialized. Android only.
+  ///
+  static Future<Map?> getPreInitializationQueueStats() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getPreInitializationQueueStats');
+  }
+
+  ///
+  /// Returns the native load latencies of every ad unit and ad format loaded so far, one map each with the `adUnitId`, `adFormat`,
+  /// `loadCount`, `failureCount`, `failureRatio`, `p50Millis`, `p90Millis`, `p99Millis` and `meanMillis`. Android only.
+  ///
+  static Future<List?> getMetrics() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getMetrics');
+  }
+
+  ///
+  /// Enables or disables recording of native method calls and callbacks into a ring buffer of the last [capacity] entries. Handlers
+  /// running longer than [frameBudget] are flagged and logged. Android only.
+  ///
+  static Future<void> setTracingEnabled(bool enabled, {int capacity = 1024, Duration frameBudget = const Duration(milliseconds: 4)}) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    return channel.invokeMethod('setTracingEnabled', {
+      'enabled': enabled,
+      'capacity': capacity,
+      'frame_budget_millis': frameBudget.inMicroseconds / 1000.0,
+    });
+  }
+
+  ///
+  /// Returns the recorded `entries`, each with its `type`, `method`, `argumentSize`, `startMillis`, `durationMillis`, `resultMillis` and
+  /// `isOverFrameBudget`, and the `overFrameBudgetCount`. Returns null if tracing is not enabled. Android only.
+  ///
+  static Future<Map?> getTrace() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getTrace');
+  }
+
+  ///
+  /// Writes the recorded entries as CSV to [path], or to the app's files directory if omitted, and returns the path written to. Android only.
+  ///
+  static Future<String?> dumpTrace({String? path}) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('dumpTrace', {
+      'path': path,
+    });
+  }
+
+  ///
+  /// Enables or disables journaling the revenue of every impression to a file on device, so that it is kept until acknowledged
+  /// even if the app is busy or the engine is detached when the ad is paid for. Android only.
+  ///
+  static Future<void> setRevenueJournalEnabled(bool enabled) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    return channel.invokeMethod('setRevenueJournalEnabled', {
+      'value': enabled,
+    });
+  }
+
+  ///
+  /// Reads up to [maxRecords] journaled impressions starting at [cursor]. Returns the `records`, each with its `timestampMillis`,
+  /// `revenue`, `adUnitId`, `adFormat`, `networkName`, `placement` and `dspName`, the `nextCursor` to continue reading from, and
+  /// whether more records follow in `hasMore`. Android only.
+  ///
+  static Future<Map?> readRevenueJournal({int cursor = 0, int maxRecords = 100}) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('readRevenueJournal', {
+      'cursor': cursor,
+      'max_records': maxRecords,
+    });
+  }
+
+  ///
+  /// Drops all journaled impressions before [cursor], which must be a `nextCursor` returned by [readRevenueJournal], once they have
+  /// been reported. Returns the number of bytes released. Android only.
+  ///
+  static Future<int?> acknowledgeRevenueJournal(int cursor) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('acknowledgeRevenueJournal', {
+      'cursor': cursor,
+    });
+  }
+
+  ///
+  /// Loads the [count] ad units used most in the last session as soon as the SDK is initialized, so that they are ready by the time
+  /// they are loaded or created again. Must be called before [initialize]. Android only.
+  ///
+  static Future<void> setMaxPrewarmedAdUnits(int count) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    return channel.invokeMethod('setMaxPrewarmedAdUnits', {
+      'value': count,
+    });
+  }
+
+  ///
+  /// Returns the ad units used in the `lastSession`, each with its `adUnitId`, `adFormat`, `adViewPosition` and `count`, most used first,
+  /// and the number of uses per ad unit id in the `currentSession`. Returns null before [initialize]. Android only.
+  ///
+  static Future<Map?> getAdUnitUsage() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getAdUnitUsage');
+  }
+
+  ///
+  /// Returns the ad events this engine has listeners for as a bitmask of `subscribedEvents`, and how many ad events were not sent because
+  /// no listener was set for them, in total as `suppressed` and per event name as `suppressedByEvent`. Android only.
+  ///
+  static Future<Map?> getEventSubscriptionStats() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getEventSubscriptionStats');
+  }
+
+  ///
+  /// Sets when ad resources are released to keep memory low in the background. Once the system asks to trim memory at or above
+  /// [minTrimLevel] (an Android `ComponentCallbacks2` level, 40 is `TRIM_MEMORY_BACKGROUND`), interstitials and rewarded ads that
+  /// are not loading, loaded or showing are released and pooled [MaxAdView] ad views are destroyed. Released ads are created again
+  /// when next loaded. If [releaseHiddenAdViews] is set, hidden banners and MRECs are destroyed as well and must be created again.
+  /// Prewarmed and preloaded ads are kept. Android only.
+  ///
+  static void setMemoryTrimPolicy({int minTrimLevel = 40, bool releaseHiddenAdViews = false}) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setMemoryTrimPolicy', {
+      'min_trim_level': minTrimLevel,
+      'release_hidden_ad_views': releaseHiddenAdViews,
+    });
+  }
+
+  ///
+  /// Returns the number of memory `trims` acted on, the `lastTrimLevel` received, and the number of `releasedFullscreenAds`,
+  /// `releasedAdViews` and `releasedPooledAdViews`. Idle fullscreen ads released when the last activity detached are counted too.
+  /// Android only.
+  ///
+  static Future<Map?> getMemoryTrimStats() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getMemoryTrimStats');
+  }
+
+  ///
+  /// When enabled, a mirror of the state of every ad unit is kept up to date by the native side as ads load, fail, show and hide, so
+  /// that [isAdReady] and [getAdState] answer synchronously instead of polling [isInterstitialReady] or [isRewardedAdReady] over the
+  /// channel. Android only.
+  ///
+  static Future<void> setAdStateMirrorEnabled(bool enabled) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    _isAdStateMirrorEnabled = enabled;
+    _adStates.clear();
+
+    await channel.invokeMethod('setAdStateUpdatesEnabled', {
+      'value': enabled,
+    });
+
+    if (!enabled) return;
+
+    // Seed the mirror, changes pushed since are kept if newer
+    var states = await getAdStates();
+    states?.forEach((adUnitId, arguments) => _updateAdState(arguments));
+  }
+
+  ///
+  /// Returns the `adFormat`, `loadState`, `isReady` and `isShowing` of every ad unit the native side knows of, keyed by ad unit id or
+  /// ad view handle. Android only.
+  ///
+  static Future<Map?> getAdStates() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getAdStates');
+  }
+
+  ///
+  /// Returns whether the ad unit has an ad ready to show according to the mirror enabled with [setAdStateMirrorEnabled], without a
+  /// round trip to the native side. Returns false for unknown ad units and while the mirror is disabled.
+  ///
+  static bool isAdReady(String adUnitId) {
+    return _adStates[adUnitId]?.isReady ?? false;
+  }
+
+  ///
+  /// Returns the state of the ad unit according to the mirror enabled with [setAdStateMirrorEnabled], or null if it is unknown.
+  ///
+  static MaxAdState? getAdState(String adUnitId) {
+    return _adStates[adUnitId];
   }
 
   static void showMediationDebugger() {
     channel.invokeMethod('showMediationDebugger');
   }
 
+  ///
+  /// Runs several calls in a single channel round trip, e.g. when creating, configuring and showing a banner on a screen transition.
+  ///
+  /// Each command is a map with a `method` name and an optional `args` map using the same keys as the individual call, e.g.
+  /// `{'method': 'showBanner', 'args': {'ad_unit_id': adUnitId}}`. Returns one entry per command containing either its `result`
+  /// or its `errorCode` and `errorMessage`.
+  ///
+  static Future<List?> executeBatch(List<Map<String, dynamic>> commands) async {
+    if (defaultTargetPlatform == TargetPlatform.android) {
+      return channel.invokeMethod('executeBatch', {
+        'commands': commands,
+      });
+    }
+
+    // Batching is not available natively on this platform, fall back to individual calls
+    var results = [];
+    for (var command in commands) {
+      var method = command['method'];
+      try {
+        var result = await channel.invokeMethod(method, command['args']);
+        results.add({'method': method, 'result': result});
+      } on PlatformException catch (e) {
+        results.add({'method': method, 'errorCode': e.code, 'errorMessage': e.message});
+      }
+    }
+
+    return results;
+  }
+
   ///
   /// PRIVACY APIs
   ///
@@ -130,7 +458,7 @@ class AppLovinMAX {
   }
 
   static Future<bool?> hasUserConsent() {
-    return channel.invokeMethod('hasUserConsent');
+    return _getBackgroundChannel().invokeMethod('hasUserConsent');
   }
 
   static void setIsAgeRestrictedUser(bool isAgeRestrictedUser) {
@@ -140,7 +468,7 @@ class AppLovinMAX {
   }
 
   static Future<bool?> isAgeRestrictedUser() {
-    return channel.invokeMethod('isAgeRestrictedUser');
+    return _getBackgroundChannel().invokeMethod('isAgeRestrictedUser');
   }
 
   static void setDoNotSell(bool isDoNotSell) {
@@ -150,7 +478,7 @@ class AppLovinMAX {
   }
 
   static Future<bool?> isDoNotSell() {
-    return channel.invokeMethod('isDoNotSell');
+    return _getBackgroundChannel().invokeMethod('isDoNotSell');
   }
 
   ///
@@ -175,6 +503,88 @@ class AppLovinMAX {
     });
   }
 
+  ///
+  /// Enables or disables the creative debugger, which is shown when the device is shaken while an ad is showing. Calls made before
+  /// [initialize] are applied once the SDK is created. Android only.
+  ///
+  static void setCreativeDebuggerEnabled(bool enabled) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setCreativeDebuggerEnabled', {
+      'value': enabled,
+    });
+  }
+
+  ///
+  /// When enabled, ad events are buffered natively and delivered once per frame as a single message instead of one message per event.
+  /// Listeners are still invoked for each event in order. Android only.
+  ///
+  static void setEventCoalescingEnabled(bool enabled) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setEventCoalescingEnabled', {
+      'value': enabled,
+    });
+  }
+
+  ///
+  /// When enabled, ad events are sent in a compact binary layout instead of as string maps, with repeated strings such as
+  /// ad unit ids and network names only sent once per session. Listeners are invoked the same way. Android only.
+  ///
+  static void setBinaryAdEventsEnabled(bool enabled) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    if (enabled) {
+      _adEventChannel.setMessageHandler((message) async {
+        _handleEvent(message[0], message[1]);
+        return null;
+      });
+
+      // Start both sides from an empty string table
+      _adEventCodec.reset();
+      _adEventChannel.send(AdEventCodec.controlReset);
+    } else {
+      _adEventChannel.setMessageHandler(null);
+    }
+
+    channel.invokeMethod('setBinaryAdEventsEnabled', {
+      'value': enabled,
+    });
+  }
+
+  ///
+  /// Retries failed interstitial, rewarded, banner and MREC loads natively with exponential backoff, so that `onAdLoadFailedCallback`
+  /// is only invoked once [maxAttempts] retries have failed. Pending retries are cancelled when the ad is shown or destroyed.
+  /// Banners and MRECs are only retried while hidden, since their auto-refresh retries failed loads once shown.
+  /// A [maxAttempts] of 0 disables retries. Android only.
+  ///
+  static void setLoadRetryPolicy({
+    required int maxAttempts,
+    Duration initialDelay = const Duration(seconds: 1),
+    Duration maxDelay = const Duration(seconds: 64),
+    double jitter = 0.2,
+  }) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setLoadRetryPolicy', {
+      'max_attempts': maxAttempts,
+      'initial_delay_millis': initialDelay.inMilliseconds,
+      'max_delay_millis': maxDelay.inMilliseconds,
+      'jitter': jitter,
+    });
+  }
+
+  ///
+  /// Returns the `currentAttempt`, `lastAttemptCount`, `totalRetries` and `isRetryPending` load retry counters for the ad unit. Android only.
+  ///
+  static Future<Map?> getLoadRetryStats(String adUnitId) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getLoadRetryStats', {
+      'ad_unit_id': adUnitId,
+    });
+  }
+
   static void setTestDeviceAdvertisingIds(List advertisingIdentifiers) {
     channel.invokeMethod('setTestDeviceAdvertisingIds', {
       'value': advertisingIdentifiers,
@@ -185,15 +595,27 @@ class AppLovinMAX {
   /// BANNERS
   ///
 
-  static void setBannerListener(AdViewAdListener listener) {
+  ///
+  /// Events of formats without a listener are not sent from the native side on Android, so pass null to stop receiving them.
+  ///
+  static void setBannerListener(AdViewAdListener? listener) {
     _bannerAdListener = listener;
+    _updateEventSubscriptions();
   }
 
-  static void createBanner(String adUnitId, AdViewPosition position) {
-    channel.invokeMethod('createBanner', {
+  ///
+  /// Creates the banner of [adUnitId] and returns its handle, which identifies the banner in all other banner methods and in
+  /// [MaxAd.adViewId] of its events. The handle is [adUnitId] unless [newInstance] is set, which creates an additional banner for an
+  /// ad unit id that already has one and returns a new handle for it. [newInstance] is Android only.
+  ///
+  static Future<String> createBanner(String adUnitId, AdViewPosition position, {bool newInstance = false}) async {
+    String? adViewId = await channel.invokeMethod('createBanner', {
       'ad_unit_id': adUnitId,
       'position': position.value,
+      'new_instance': newInstance,
     });
+
+    return adViewId ?? adUnitId;
   }
 
   static void setBannerBackgroundColor(String adUnitId, String hexColorCodeString) {
@@ -243,19 +665,96 @@ class AppLovinMAX {
     });
   }
 
+  ///
+  /// WIDGET AD VIEWS
+  ///
+
+  ///
+  /// Keeps up to [maxSize] ad views of disposed [MaxAdView] widgets around for [maxIdle], with auto-refresh paused, so that a widget with
+  /// the same ad unit id, format and placement mounted later reuses the ad view and its loaded ad instead of requesting a new one.
+  /// A [maxSize] of 0 disables pooling. Android only.
+  ///
+  static void setAdViewPoolLimits(int maxSize, {Duration maxIdle = const Duration(minutes: 1)}) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setAdViewPoolLimits', {
+      'max_size': maxSize,
+      'max_idle_millis': maxIdle.inMilliseconds,
+    });
+  }
+
+  ///
+  /// Creates and loads an ad view off-screen so that the next [MaxAdView] widget with the same [adUnitId], [adFormat] and [placement]
+  /// can show its ad as soon as it is mounted. The preloaded ad view is destroyed if no widget adopts it within [timeout]. Android only.
+  ///
+  static void preloadAdView(String adUnitId, AdFormat adFormat, {String? placement, Duration timeout = const Duration(minutes: 1)}) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('preloadAdView', {
+      'ad_unit_id': adUnitId,
+      'ad_format': adFormat.value,
+      'placement': placement,
+      'timeout_millis': timeout.inMilliseconds,
+    });
+  }
+
+  ///
+  /// Returns the `size`, `maxSize`, `hits`, `misses`, `evictions` and `hitRate` of the widget ad view pool, as well as the number of
+  /// pending `preloads`, `preloadHits` and `expiredPreloads`. Android only.
+  ///
+  static Future<Map?> getAdViewPoolStats() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getAdViewPoolStats');
+  }
+
+  ///
+  /// Sets the fraction (0 to 1) of a [MaxAdView] widget that must be visible on screen for it to keep auto-refreshing. Widgets pause
+  /// while detached or below the threshold and resume once visible again. By default a widget pauses only once it is entirely off-screen.
+  /// The visible fraction is measured on the Dart side with `VisibilityDetector`, so it is subject to its `updateInterval`. Android only.
+  ///
+  static void setAdViewVisibilityThreshold(double threshold) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setAdViewVisibilityThreshold', {
+      'value': threshold,
+    });
+  }
+
+  ///
+  /// Returns the total `pausedMillis` and `pauseCount` of [MaxAdView] widgets that paused auto-refresh while off-screen. Android only.
+  ///
+  static Future<Map?> getAdViewRefreshStats() async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getAdViewRefreshStats');
+  }
+
   ///
   /// MRECs
   ///
 
-  static void setMRecListener(AdViewAdListener listener) {
+  ///
+  /// Events of formats without a listener are not sent from the native side on Android, so pass null to stop receiving them.
+  ///
+  static void setMRecListener(AdViewAdListener? listener) {
     _mrecAdListener = listener;
+    _updateEventSubscriptions();
   }
 
-  static void createMRec(String adUnitId, AdViewPosition position) {
-    channel.invokeMethod('createMRec', {
+  ///
+  /// Creates the MREC of [adUnitId] and returns its handle, which identifies the MREC in all other MREC methods and in
+  /// [MaxAd.adViewId] of its events. The handle is [adUnitId] unless [newInstance] is set, which creates an additional MREC for an
+  /// ad unit id that already has one and returns a new handle for it. [newInstance] is Android only.
+  ///
+  static Future<String> createMRec(String adUnitId, AdViewPosition position, {bool newInstance = false}) async {
+    String? adViewId = await channel.invokeMethod('createMRec', {
       'ad_unit_id': adUnitId,
       'position': position.value,
+      'new_instance': newInstance,
     });
+
+    return adViewId ?? adUnitId;
   }
 
   static void setMRecPlacement(String adUnitId, String placement) {
@@ -294,8 +793,12 @@ class AppLovinMAX {
   /// Interstitials
   ///
 
-  static void setInterstitialListener(InterstitialListener listener) {
+  ///
+  /// Events of formats without a listener are not sent from the native side on Android, so pass null to stop receiving them.
+  ///
+  static void setInterstitialListener(InterstitialListener? listener) {
     _interstitialListener = listener;
+    _updateEventSubscriptions();
   }
 
   static void loadInterstitial(String adUnitId) {
@@ -326,12 +829,29 @@ class AppLovinMAX {
     });
   }
 
+  ///
+  /// Keeps up to [depth] interstitials loaded for the ad unit once [loadInterstitial] has been called, reloading each one after it is
+  /// hidden or fails to display. [showInterstitial] is served from the most recently loaded ad. A depth of 0 disables the pool. Android only.
+  ///
+  static void setInterstitialPoolDepth(String adUnitId, int depth) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setInterstitialPoolDepth', {
+      'ad_unit_id': adUnitId,
+      'depth': depth,
+    });
+  }
+
   ///
   /// Rewarded Ads
   ///
 
-  static void setRewardedAdListener(RewardedAdListener listener) {
+  ///
+  /// Events of formats without a listener are not sent from the native side on Android, so pass null to stop receiving them.
+  ///
+  static void setRewardedAdListener(RewardedAdListener? listener) {
     _rewardedAdListener = listener;
+    _updateEventSubscriptions();
   }
 
   static void loadRewardedAd(String adUnitId) {
@@ -361,4 +881,29 @@ class AppLovinMAX {
       'value': value,
     });
   }
+
+  ///
+  /// Keeps a rewarded ad loaded for the ad unit once [loadRewardedAd] has been called, reloading it after it is hidden or fails to display.
+  /// The SDK provides a single rewarded ad per ad unit, so depths greater than 1 behave like 1. A depth of 0 disables the pool. Android only.
+  ///
+  static void setRewardedAdPoolDepth(String adUnitId, int depth) {
+    if (defaultTargetPlatform != TargetPlatform.android) return;
+
+    channel.invokeMethod('setRewardedAdPoolDepth', {
+      'ad_unit_id': adUnitId,
+      'depth': depth,
+    });
+  }
+
+  ///
+  /// Returns the `depth`, `hits`, `misses` and `readyAgesMillis` of the interstitial or rewarded ad pool for the ad unit,
+  /// or `null` if no pool has been configured. Android only.
+  ///
+  static Future<Map?> getAdPoolStats(String adUnitId) async {
+    if (defaultTargetPlatform != TargetPlatform.android) return null;
+
+    return channel.invokeMethod('getAdPoolStats', {
+      'ad_unit_id': adUnitId,
+    });
+  }
 }
@@ -7,7 +7,11 @@ class MaxAd {
 
   String? placement;
 
-  MaxAd(this.adUnitId, this.networkName, this.revenue, this.creativeId, this.dspName, this.placement);
+  /// The handle of the banner or MREC instance returned by `createBanner` or `createMRec`, which is the ad unit id unless the ad view
+  /// was created with `newInstance`. Null for all other ads. Android only.
+  final String? adViewId;
+
+  MaxAd(this.adUnitId, this.networkName, this.revenue, this.creativeId, this.dspName, this.placement, {this.adViewId});
 
   @override
   String toString() {
@@ -50,3 +54,34 @@ class MaxError {
     return "[MaxError code: " + code.toString() + ", message: " + message + "]";
   }
 }
+
+class MaxAdState {
+  /// The ad unit id, or the handle of a banner or MREC created with `newInstance`.
+  final String adUnitId;
+  final String adFormat;
+
+  /// One of `idle`, `loading`, `loaded` or `failed`.
+  final String loadState;
+  final bool isReady;
+  final bool isShowing;
+
+  // Orders the states reported by the native side
+  final int sequence;
+
+  MaxAdState(this.adUnitId, this.adFormat, this.loadState, this.isReady, this.isShowing, this.sequence);
+
+  @override
+  String toString() {
+    return "[MaxAdState adUnitId: " +
+        adUnitId +
+        ", adFormat: " +
+        adFormat +
+        ", loadState: " +
+        loadState +
+        ", isReady: " +
+        isReady.toString() +
+        ", isShowing: " +
+        isShowing.toString() +
+        "]";
+  }
+}
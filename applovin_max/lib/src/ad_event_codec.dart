@@ -0,0 +1,132 @@
+import 'dart:convert';
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+
+///
+/// Decodes ad events sent in the compact binary layout of `AppLovinMAXAdEventCodec` on Android into the event name and
+/// the same arguments map that is sent for regular channel events.
+///
+/// Strings that repeat across events (ad unit ids, network names, placements) are only sent the first time they are seen
+/// and are referred to by id afterwards, so the decoder must see every event of a session in order.
+///
+class AdEventCodec implements MessageCodec<dynamic> {
+  /// Control message asking the native side to forget its interned strings.
+  static const int controlReset = 1;
+
+  // NOTE: Names and order must match the Android side, and the names must match the events sent as params maps
+  static const List<String> _eventNames = [
+    "OnBannerAdLoadedEvent",
+    "OnBannerAdLoadFailedEvent",
+    "OnBannerAdClickedEvent",
+    "OnBannerAdExpandedEvent",
+    "OnBannerAdCollapsedEvent",
+    "OnMRecAdLoadedEvent",
+    "OnMRecAdLoadFailedEvent",
+    "OnMRecAdClickedEvent",
+    "OnMRecAdExpandedEvent",
+    "OnMRecAdCollapsedEvent",
+    "OnInterstitialLoadedEvent",
+    "OnInterstitialLoadFailedEvent",
+    "OnInterstitialClickedEvent",
+    "OnInterstitialDisplayedEvent",
+    "OnInterstitialAdFailedToDisplayEvent",
+    "OnInterstitialHiddenEvent",
+    "OnRewardedAdLoadedEvent",
+    "OnRewardedAdLoadFailedEvent",
+    "OnRewardedAdClickedEvent",
+    "OnRewardedAdDisplayedEvent",
+    "OnRewardedAdFailedToDisplayEvent",
+    "OnRewardedAdHiddenEvent",
+    "OnRewardedAdReceivedRewardEvent",
+  ];
+
+  static const int _flagAd = 1;
+  static const int _flagError = 1 << 1;
+  static const int _flagReward = 1 << 2;
+  static const int _flagAdViewId = 1 << 3;
+
+  static const int _nullMarker = -2147483648;
+
+  final List<String> _internedStrings = [];
+
+  /// Forgets all interned strings. Must be paired with sending [controlReset] to the native side.
+  void reset() {
+    _internedStrings.clear();
+  }
+
+  @override
+  ByteData? encodeMessage(dynamic message) {
+    if (message is! int) return null;
+
+    return ByteData(1)..setUint8(0, message);
+  }
+
+  /// Returns a list containing the event name and its arguments map.
+  @override
+  dynamic decodeMessage(ByteData? message) {
+    if (message == null) return null;
+
+    var offset = 0;
+
+    int readInt32() {
+      var value = message.getInt32(offset, Endian.little);
+      offset += 4;
+      return value;
+    }
+
+    String? readString() {
+      var length = readInt32();
+      if (length == _nullMarker) return null;
+
+      var value = utf8.decode(message.buffer.asUint8List(message.offsetInBytes + offset, length));
+      offset += length;
+      return value;
+    }
+
+    String? readInternedString() {
+      var id = readInt32();
+      if (id == _nullMarker) return null;
+
+      if (id < 0) {
+        var value = readString()!;
+        _internedStrings.add(value);
+        return value;
+      }
+
+      return _internedStrings[id];
+    }
+
+    var tag = message.getUint8(offset++);
+    var flags = message.getUint8(offset++);
+
+    var arguments = <String, dynamic>{
+      "adUnitId": readInternedString(),
+    };
+
+    if (flags & _flagAdViewId != 0) {
+      arguments["adViewId"] = readInternedString();
+    }
+
+    if (flags & _flagAd != 0) {
+      arguments["networkName"] = readInternedString() ?? "";
+      arguments["placement"] = readInternedString() ?? "";
+      arguments["dspName"] = readInternedString() ?? "";
+      arguments["creativeId"] = readString() ?? "";
+      arguments["revenue"] = message.getFloat64(offset, Endian.little).toString();
+      offset += 8;
+    }
+
+    if (flags & _flagError != 0) {
+      arguments["errorCode"] = readInt32();
+      arguments["errorMessage"] = readString() ?? "";
+    }
+
+    if (flags & _flagReward != 0) {
+      arguments["rewardAmount"] = readInt32().toString();
+      arguments["rewardLabel"] = readInternedString() ?? "";
+    }
+
+    return [_eventNames[tag], arguments];
+  }
+}
@@ -6,6 +6,7 @@ import 'package:flutter/foundation.dart';
 import 'package:flutter/material.dart';
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
+import 'package:visibility_detector/visibility_detector.dart';
 
 enum AdFormat {
   banner("banner"),
@@ -23,6 +24,29 @@ final double _leader_height = 90;
 final double _mrec_width = 300;
 final double _mrec_height = 250;
 
+// On Android all widgets share a single channel, their events carry the view id of the widget they belong to
+final MethodChannel _adViewChannel = MethodChannel('applovin_max/adviews');
+final Map<int, _MaxAdViewState> _adViewStates = {};
+
+void _registerAdView(int viewId, _MaxAdViewState state) {
+  if (_adViewStates.isEmpty) {
+    _adViewChannel.setMethodCallHandler((call) async {
+      var arguments = call.arguments;
+      _adViewStates[int.parse(arguments["viewId"])]?._handleEvent(call.method, arguments);
+    });
+  }
+
+  _adViewStates[viewId] = state;
+}
+
+void _unregisterAdView(int viewId) {
+  _adViewStates.remove(viewId);
+
+  if (_adViewStates.isEmpty) {
+    _adViewChannel.setMethodCallHandler(null);
+  }
+}
+
 class MaxAdView extends StatefulWidget {
   /// A string value representing the ad unit id to load ads for.
   final String adUnitId;
@@ -53,6 +77,31 @@ class MaxAdView extends StatefulWidget {
 }
 
 class _MaxAdViewState extends State<MaxAdView> {
+  // The view id of the platform view once created, Android only
+  int? _viewId;
+
+  // The channel of this widget alone, iOS only
+  MethodChannel? _channel;
+
+  // Identifies this widget to the VisibilityDetector, Android only
+  final Key _visibilityKey = UniqueKey();
+
+  // The last visible fraction reported to the native ad view, which pauses auto-refresh while too little of the widget is on screen. Scrolling
+  // within Flutter does not move the platform view natively, so the native side cannot observe this by itself. Android only
+  double? _visibleFraction;
+
+  @override
+  void dispose() {
+    var viewId = _viewId;
+    if (viewId != null) {
+      _unregisterAdView(viewId);
+    }
+
+    _channel?.setMethodCallHandler(null);
+
+    super.dispose();
+  }
+
   @override
   Widget build(BuildContext context) {
     if (defaultTargetPlatform == TargetPlatform.android) {
@@ -61,14 +110,20 @@ class _MaxAdViewState extends State<MaxAdView> {
         height: _getHeight(),
         child: OverflowBox(
           alignment: Alignment.bottomCenter,
-          child: AndroidView(
-            viewType: "applovin_max/adview",
-            creationParams: <String, dynamic>{
-              "ad_unit_id": widget.adUnitId,
-              "ad_format": widget.adFormat.value,
-            },
-            creationParamsCodec: const StandardMessageCodec(),
-            onPlatformViewCreated: _onMaxAdViewCreated,
+          child: VisibilityDetector(
+            key: _visibilityKey,
+            onVisibilityChanged: _onVisibilityChanged,
+            child: AndroidView(
+              viewType: "applovin_max/adview",
+              creationParams: <String, dynamic>{
+                "ad_unit_id": widget.adUnitId,
+                "ad_format": widget.adFormat.value,
+                if (widget.placement != null) "placement": widget.placement,
+                if (widget.customData != null) "customData": widget.customData,
+              },
+              creationParamsCodec: const StandardMessageCodec(),
+              onPlatformViewCreated: _onMaxAdViewCreated,
+            ),
           ),
         ),
       );
@@ -83,6 +138,8 @@ class _MaxAdViewState extends State<MaxAdView> {
             creationParams: <String, dynamic>{
               "ad_unit_id": widget.adUnitId,
               "ad_format": widget.adFormat.value,
+              if (widget.placement != null) "placement": widget.placement,
+              if (widget.customData != null) "customData": widget.customData,
             },
             creationParamsCodec: const StandardMessageCodec(),
             onPlatformViewCreated: _onMaxAdViewCreated,
@@ -95,29 +152,60 @@ class _MaxAdViewState extends State<MaxAdView> {
   }
 
   void _onMaxAdViewCreated(int id) {
-    final MethodChannel channel = MethodChannel('applovin_max/adview_$id');
+    if (defaultTargetPlatform == TargetPlatform.android) {
+      _viewId = id;
+      _registerAdView(id, this);
 
-    channel.setMethodCallHandler((call) async {
-      var method = call.method;
-      var arguments = call.arguments;
+      // Let the native side know we are listening, so it can report an ad that was already loaded into a reused ad view
+      _adViewChannel.invokeMethod('ready', {
+        'view_id': id,
+      });
 
-      var adUnitId = arguments["adUnitId"];
-
-      if ("OnAdViewAdLoadedEvent" == method) {
-        widget.listener?.onAdLoadedCallback(AppLovinMAX.createAd(adUnitId, arguments));
-      } else if ("OnAdViewAdLoadFailedEvent" == method) {
-        var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
-        widget.listener?.onAdLoadFailedCallback(adUnitId, error);
-      } else if ("OnAdViewAdClickedEvent" == method) {
-        widget.listener?.onAdClickedCallback(AppLovinMAX.createAd(adUnitId, arguments));
-      } else if ("OnAdViewAdExpandedEvent" == method) {
-        widget.listener?.onAdExpandedCallback(AppLovinMAX.createAd(adUnitId, arguments));
-      } else if ("OnAdViewAdCollapsedEvent" == method) {
-        widget.listener?.onAdCollapsedCallback(AppLovinMAX.createAd(adUnitId, arguments));
+      var visibleFraction = _visibleFraction;
+      if (visibleFraction != null) {
+        _sendVisibleFraction(id, visibleFraction);
       }
+    } else {
+      _channel = MethodChannel('applovin_max/adview_$id');
+      _channel!.setMethodCallHandler((call) async => _handleEvent(call.method, call.arguments));
+    }
+  }
+
+  void _onVisibilityChanged(VisibilityInfo info) {
+    if (!mounted || info.visibleFraction == _visibleFraction) return;
+
+    _visibleFraction = info.visibleFraction;
+
+    var viewId = _viewId;
+    if (viewId != null) {
+      _sendVisibleFraction(viewId, info.visibleFraction);
+    }
+  }
+
+  void _sendVisibleFraction(int viewId, double visibleFraction) {
+    _adViewChannel.invokeMethod('setVisibleFraction', {
+      'view_id': viewId,
+      'value': visibleFraction,
     });
   }
 
+  void _handleEvent(String method, dynamic arguments) {
+    var adUnitId = arguments["adUnitId"];
+
+    if ("OnAdViewAdLoadedEvent" == method) {
+      widget.listener?.onAdLoadedCallback(AppLovinMAX.createAd(adUnitId, arguments));
+    } else if ("OnAdViewAdLoadFailedEvent" == method) {
+      var error = MaxError(arguments["errorCode"], arguments["errorMessage"]);
+      widget.listener?.onAdLoadFailedCallback(adUnitId, error);
+    } else if ("OnAdViewAdClickedEvent" == method) {
+      widget.listener?.onAdClickedCallback(AppLovinMAX.createAd(adUnitId, arguments));
+    } else if ("OnAdViewAdExpandedEvent" == method) {
+      widget.listener?.onAdExpandedCallback(AppLovinMAX.createAd(adUnitId, arguments));
+    } else if ("OnAdViewAdCollapsedEvent" == method) {
+      widget.listener?.onAdCollapsedCallback(AppLovinMAX.createAd(adUnitId, arguments));
+    }
+  }
+
   double _getWidth() {
     if (widget.adFormat == AdFormat.mrec) {
       return _mrec_width;